@@ -0,0 +1,111 @@
+package com.itemrecovery.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for asynchronous background work.
+ * Enables @Async methods, which run on the application task executor
+ * (sized by the spring.task.execution.* properties), and defines dedicated
+ * executors for CPU-heavy pipelines.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+    
+    /**
+     * Configure the general-purpose executor for @Async methods and async MVC requests.
+     * Spring Boot only creates it when no other executor is defined, so it is
+     * declared here explicitly next to the dedicated executors. With virtual threads
+     * enabled (spring.threads.virtual.enabled on Java 21+), each task gets its own
+     * virtual thread instead of a pooled platform thread, as Boot's own executor would.
+     * @param threadPoolBuilder builder preconfigured from the spring.task.execution.* properties
+     * @param virtualThreadBuilder builder preconfigured for virtual threads when they are enabled
+     * @param environment the environment, to detect virtual thread mode
+     * @return the application task executor
+     */
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+                  AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder threadPoolBuilder,
+                                                     SimpleAsyncTaskExecutorBuilder virtualThreadBuilder,
+                                                     Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualThreadBuilder.build();
+        }
+        return threadPoolBuilder.build();
+    }
+    
+    /**
+     * Configure the executor that generates image thumbnails and previews.
+     * Few threads and a bounded queue keep image decoding from competing
+     * with request threads for CPU and heap. The work is CPU-bound, so these
+     * stay platform threads in virtual thread mode too.
+     * @param threads number of worker threads
+     * @param queueCapacity maximum number of queued images
+     * @return ThreadPoolTaskExecutor instance
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageProcessingExecutor(
+            @Value("${app.images.processing.threads:2}") int threads,
+            @Value("${app.images.processing.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        return executor;
+    }
+    
+    /**
+     * Configure the executor that computes match suggestions for API requests.
+     * Match lookups score every open item, so they run here instead of on request
+     * threads; when the queue is full, new lookups are rejected (and answered with
+     * 503) rather than piling up behind the ones already waiting.
+     * @param threads number of worker threads
+     * @param queueCapacity maximum number of queued lookups
+     * @return ThreadPoolTaskExecutor instance
+     */
+    @Bean
+    public ThreadPoolTaskExecutor matchExecutor(
+            @Value("${app.matching.threads:4}") int threads,
+            @Value("${app.matching.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("match-");
+        return executor;
+    }
+    
+    /**
+     * Configure the executor that writes live feed events to subscribers.
+     * Each subscriber has at most one write task queued at a time, so a queue as
+     * large as the subscriber limit is never exceeded.
+     * @param threads number of worker threads
+     * @param maxSubscribers maximum number of feed subscribers
+     * @return ThreadPoolTaskExecutor instance
+     */
+    @Bean
+    public ThreadPoolTaskExecutor feedExecutor(
+            @Value("${app.feed.threads:4}") int threads,
+            @Value("${app.feed.max-subscribers:1000}") int maxSubscribers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(maxSubscribers);
+        executor.setThreadNamePrefix("feed-");
+        return executor;
+    }
+}
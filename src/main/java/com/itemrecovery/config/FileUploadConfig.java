@@ -1,5 +1,6 @@
 package com.itemrecovery.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.MultipartConfigFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,6 +10,12 @@ import org.springframework.web.multipart.support.StandardServletMultipartResolve
 
 import jakarta.servlet.MultipartConfigElement;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 /**
  * Configuration for file upload handling.
  * Configures multipart file upload settings.
@@ -16,29 +23,60 @@ import jakarta.servlet.MultipartConfigElement;
 @Configuration
 public class FileUploadConfig {
     
+    @Value("${spring.servlet.multipart.max-file-size:5MB}")
+    private DataSize maxFileSize;
+    
+    @Value("${spring.servlet.multipart.max-request-size:10MB}")
+    private DataSize maxRequestSize;
+    
+    @Value("${spring.servlet.multipart.file-size-threshold:64KB}")
+    private DataSize fileSizeThreshold;
+    
+    @Value("${spring.servlet.multipart.location:upload-staging}")
+    private String stagingDir;
+    
+    @Value("${spring.servlet.multipart.resolve-lazily:true}")
+    private boolean resolveLazily;
+    
     /**
      * Configure multipart resolver for file uploads.
+     * Parts are parsed when the handler first reads them, after the interceptors,
+     * so a request refused by the rate limit is never spooled to disk.
      * @return MultipartResolver instance
      */
     @Bean
     public MultipartResolver multipartResolver() {
-        return new StandardServletMultipartResolver();
+        StandardServletMultipartResolver resolver = new StandardServletMultipartResolver();
+        resolver.setResolveLazily(resolveLazily);
+        return resolver;
     }
     
     /**
      * Configure multipart configuration.
-     * Sets maximum file size and request size.
+     * Sets maximum file size and request size, and where parts are spooled.
      * @return MultipartConfigElement instance
      */
     @Bean
     public MultipartConfigElement multipartConfigElement() {
         MultipartConfigFactory factory = new MultipartConfigFactory();
         
-        // Maximum file size: 5MB
-        factory.setMaxFileSize(DataSize.ofMegabytes(5));
+        // Maximum file size (default 5MB)
+        factory.setMaxFileSize(maxFileSize);
+        
+        // Maximum request size (default 10MB)
+        factory.setMaxRequestSize(maxRequestSize);
+        
+        // Parts above the threshold are streamed to disk instead of buffered in heap
+        factory.setFileSizeThreshold(fileSizeThreshold);
         
-        // Maximum request size: 10MB
-        factory.setMaxRequestSize(DataSize.ofMegabytes(10));
+        // Spool parts into the staging directory, from where ImageService renames them into place
+        Path location = Paths.get(stagingDir).toAbsolutePath();
+        try {
+            Files.createDirectories(location);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create upload staging directory " + location, e);
+        }
+        factory.setLocation(location.toString());
         
         return factory.createMultipartConfig();
     }
@@ -0,0 +1,44 @@
+package com.itemrecovery.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves found_items_seq past the existing found item IDs at startup.
+ * Found item IDs used to come from an IDENTITY column; the sequence that replaced it is
+ * created by the schema update starting at 1, so on an upgraded database the next insert
+ * would reuse an existing ID. Runs after the schema update (which happens when the entity
+ * manager factory is built) and before the web server accepts requests. The sequence is
+ * only ever moved forward, so this is a no-op once it is ahead of the table.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class FoundItemSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(FoundItemSequenceInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Set the sequence to the highest found item ID if it is not already past it.
+     * Hibernate's pooled optimizer hands out the IDs below each value it fetches, so the
+     * next fetched value (the highest ID plus the allocation size) starts a block of unused IDs.
+     */
+    @PostConstruct
+    void moveSequencePastExistingIds() {
+        Long moved = jdbcTemplate.query(
+                "SELECT setval('found_items_seq', m.max_id) FROM "
+                        + "(SELECT MAX(id) AS max_id FROM found_items) m, found_items_seq s "
+                        + "WHERE m.max_id >= s.last_value",
+                rs -> rs.next() ? rs.getLong(1) : null);
+        if (moved != null) {
+            log.info("Moved found_items_seq past existing found item IDs to {}", moved);
+        }
+    }
+}
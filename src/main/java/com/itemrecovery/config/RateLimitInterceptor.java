@@ -0,0 +1,61 @@
+package com.itemrecovery.config;
+
+import com.itemrecovery.service.RateLimiter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.security.Principal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor applying one rate limit rule to the paths it is registered for.
+ * Throttled requests are answered with 429 Too Many Requests and a Retry-After header.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+
+    private final String rule;
+
+    private final Set<String> methods;
+
+    /**
+     * @param rateLimiter the rate limiter
+     * @param rule the rule to apply
+     * @param methods the HTTP methods to limit, or an empty set for all
+     */
+    public RateLimitInterceptor(RateLimiter rateLimiter, String rule, Set<String> methods) {
+        this.rateLimiter = rateLimiter;
+        this.rule = rule;
+        this.methods = methods;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        // The second dispatch of an async request was already counted
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (!methods.isEmpty() && !methods.contains(request.getMethod())) {
+            return true;
+        }
+
+        Principal principal = request.getUserPrincipal();
+        long wait = rateLimiter.tryAcquire(rule, principal != null ? principal.getName() : null,
+                                           request.getRemoteAddr());
+        if (wait == 0) {
+            return true;
+        }
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(),
+                           "Too many requests, please try again in " + seconds + " seconds");
+        return false;
+    }
+}
@@ -0,0 +1,13 @@
+package com.itemrecovery.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration for scheduled background jobs.
+ * Enables @Scheduled methods such as the status counter reconciliation.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
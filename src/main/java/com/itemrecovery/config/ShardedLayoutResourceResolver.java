@@ -0,0 +1,34 @@
+package com.itemrecovery.config;
+
+import com.itemrecovery.service.ImageLayout;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.util.List;
+
+/**
+ * Resource resolver serving uploads under both the flat and the sharded layout.
+ * A flat URL whose file has been moved is resolved to its shard directory, so links
+ * rendered before or during the layout migration keep working.
+ */
+public class ShardedLayoutResourceResolver extends AbstractResourceResolver {
+
+    @Override
+    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource resource = chain.resolveResource(request, requestPath, locations);
+        if (resource != null) {
+            return resource;
+        }
+        String sharded = ImageLayout.sharded(requestPath);
+        return sharded.equals(requestPath) ? null : chain.resolveResource(request, sharded, locations);
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+}
@@ -1,23 +1,124 @@
 package com.itemrecovery.config;
 
+import com.itemrecovery.service.RateLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
 
+import java.io.IOException;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Set;
 
 /**
- * Web configuration for static resources.
- * Configures resource handlers for uploaded images.
+ * Web configuration for static resources and request interceptors.
+ * Configures resource handlers for uploaded images and rate limits on expensive endpoints.
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     
+    @Value("${app.storage.type:local}")
+    private String storageType;
+    
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+    
+    @Autowired
+    private RateLimiter rateLimiter;
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Item reports: image upload, normalization and insert
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter, RateLimiter.REPORT, Set.of("POST")))
+                .addPathPatterns("/lost-items/report", "/found-items/report");
+        // Match lookups scan every open item; matching itself takes row locks
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter, RateLimiter.MATCH, Set.of()))
+                .addPathPatterns("/api/v1/items/*/*/matches", "/api/v1/matches", "/admin/match");
+    }
+    
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // With S3 storage, UploadRedirectController sends image requests to the bucket
+        if (!"local".equals(storageType)) {
+            return;
+        }
+
         // Serve uploaded images from file system
-        String uploadDir = Paths.get("uploads").toAbsolutePath().toString().replace("\\", "/");
+        String uploadLocation = Paths.get(uploadDir).toAbsolutePath().toString().replace("\\", "/");
+
+        // Content-addressed images: the name is the hash of the bytes, so a URL never changes meaning
+        registry.addResourceHandler("/uploads/images/**")
+                .addResourceLocations("file:" + uploadLocation + "/images/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .setEtagGenerator(WebConfig::contentAddressedEtag)
+                .resourceChain(false)
+                .addResolver(new ShardedLayoutResourceResolver());
+
+        // Images stored before content addressing
         registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:" + uploadDir + "/");
+                .addResourceLocations("file:" + uploadLocation + "/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePublic())
+                .setEtagGenerator(WebConfig::fileEtag)
+                // No resolution cache: a file may move to its shard directory at any time
+                .resourceChain(false)
+                .addResolver(new ShardedLayoutResourceResolver());
+    }
+
+    /**
+     * Let the upload handlers serve whole files with sendfile.
+     * The registry does not expose the handlers' converter, so it is set on the
+     * handlers once the resource handler mapping has been built.
+     * @return the post processor
+     */
+    @Bean
+    public static BeanPostProcessor sendfileResourceHandlers() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof SimpleUrlHandlerMapping mapping) {
+                    mapping.getHandlerMap().forEach((pattern, handler) -> {
+                        // Only uploads: Tomcat skips compression for sendfile responses, and CSS/JS need it
+                        if (pattern.startsWith("/uploads/") && handler instanceof ResourceHttpRequestHandler resourceHandler) {
+                            resourceHandler.setResourceHttpMessageConverter(new SendfileResourceHttpMessageConverter());
+                        }
+                    });
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Strong ETag of a content-addressed image: its name, which already identifies the bytes.
+     * Variants are named after their original plus a suffix, so they get distinct tags.
+     */
+    private static String contentAddressedEtag(Resource resource) {
+        String name = resource.getFilename();
+        if (name == null) {
+            return null;
+        }
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    /**
+     * Strong ETag of any other upload, from its size and modification time.
+     * Uploads are never rewritten in place, so these change only if the file is replaced.
+     */
+    private static String fileEtag(Resource resource) {
+        try {
+            return Long.toHexString(resource.contentLength()) + "-" + Long.toHexString(resource.lastModified());
+        } catch (IOException e) {
+            return null;
+        }
     }
 }
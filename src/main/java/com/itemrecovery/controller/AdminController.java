@@ -1,21 +1,45 @@
 package com.itemrecovery.controller;
 
+import com.itemrecovery.dto.BulkItemResult;
+import com.itemrecovery.dto.ImportReport;
+import com.itemrecovery.dto.ItemFeedPage;
 import com.itemrecovery.dto.ItemResponse;
 import com.itemrecovery.model.ItemStatus;
+import com.itemrecovery.model.LocationLevel;
+import com.itemrecovery.service.ArchiveService;
+import com.itemrecovery.service.FoundItemFeedService;
+import com.itemrecovery.service.FoundItemImportService;
 import com.itemrecovery.service.FoundItemService;
+import com.itemrecovery.service.GazetteerService;
+import com.itemrecovery.service.ItemExportService;
+import com.itemrecovery.service.ItemFeedService;
+import com.itemrecovery.service.ItemStatsService;
 import com.itemrecovery.service.LostItemService;
 import com.itemrecovery.service.MatchService;
+import com.itemrecovery.service.RateLimiter;
 import com.itemrecovery.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controller for admin operations.
@@ -25,6 +49,8 @@ import java.util.List;
 @RequestMapping("/admin")
 public class AdminController {
     
+    private static final int MAX_BULK_ITEMS = 1000;
+    
     @Autowired
     private LostItemService lostItemService;
     
@@ -36,33 +62,160 @@ public class AdminController {
     
     @Autowired
     private UserService userService;
+    
+    @Autowired
+    private FoundItemImportService foundItemImportService;
+    
+    @Autowired
+    private ItemExportService itemExportService;
+    
+    @Autowired
+    private ItemFeedService itemFeedService;
+    
+    @Autowired
+    private ItemStatsService itemStatsService;
+    
+    @Autowired
+    private ArchiveService archiveService;
+    
+    @Autowired
+    private RateLimiter rateLimiter;
+    
+    @Autowired
+    private FoundItemFeedService foundItemFeedService;
+    
+    @Autowired
+    private GazetteerService gazetteerService;
 
     /**
      * Display admin dashboard.
-     * Shows all lost and found items for admin review.
+     * Shows one page of lost and found items together, newest first.
+     * @param itemType optional item type filter (lost or found)
+     * @param status optional status filter
+     * @param location optional location filter
+     * @param after cursor of the previous page
      * @param model the model
      * @return admin-dashboard page template name
      */
     @GetMapping("/dashboard")
-    public String adminDashboard(Model model) {
-        // Get all lost items
-        List<com.itemrecovery.model.LostItem> lostItems = lostItemService.getAllLostItems();
-        List<ItemResponse> lostItemResponses = lostItemService.toItemResponseList(lostItems);
-        
-        // Get all found items
-        List<com.itemrecovery.model.FoundItem> foundItems = foundItemService.getAllFoundItems();
-        List<ItemResponse> foundItemResponses = foundItemService.toItemResponseList(foundItems);
+    public String adminDashboard(@RequestParam(required = false) String itemType,
+                                 @RequestParam(required = false) ItemStatus status,
+                                 @RequestParam(required = false) String location,
+                                 @RequestParam(required = false) String after,
+                                 Model model) {
+        ItemFeedPage page = itemFeedService.getPage(itemType, status, location, after);
         
-        // Combine all items
-        List<ItemResponse> allItems = new ArrayList<>();
-        allItems.addAll(lostItemResponses);
-        allItems.addAll(foundItemResponses);
-        
-        model.addAttribute("items", allItems);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("itemTypeFilter", itemType);
+        model.addAttribute("statusFilter", status);
+        model.addAttribute("locationFilter", location);
         
         return "admin-dashboard";
     }
 
+    /**
+     * Display item counts per status, per day and per location.
+     * Reads the in-memory counters only.
+     * @param model the model
+     * @return admin-stats page template name
+     */
+    @GetMapping("/stats")
+    public String stats(Model model) {
+        model.addAttribute("statuses", ItemStatus.values());
+        model.addAttribute("totals", itemStatsService.getTotals());
+        model.addAttribute("dailyCounts", itemStatsService.getDailyCounts(30));
+        model.addAttribute("locationCounts", itemStatsService.getLocationCounts(50));
+        model.addAttribute("rateLimits", rateLimiter.getStats());
+        model.addAttribute("feedSubscribers", foundItemFeedService.getSubscriberCount());
+        model.addAttribute("feedEvicted", foundItemFeedService.getEvictedCount());
+        return "admin-stats";
+    }
+
+    /**
+     * Display archived items.
+     * @param itemType optional item type filter (lost or found)
+     * @param page zero-based page number
+     * @param model the model
+     * @return admin-archive page template name
+     */
+    @GetMapping("/archive")
+    public String archive(@RequestParam(required = false) String itemType,
+                          @RequestParam(defaultValue = "0") int page,
+                          Model model) {
+        Page<ItemResponse> items = archiveService.getArchivedItems(itemType, page);
+        model.addAttribute("items", items.getContent());
+        model.addAttribute("page", items);
+        model.addAttribute("itemTypeFilter", itemType);
+        return "admin-archive";
+    }
+
+    /**
+     * Run the archival job now instead of waiting for its schedule.
+     * @param redirectAttributes redirect attributes
+     * @return redirect to the archive page
+     */
+    @PostMapping("/archive/run")
+    public String runArchive(RedirectAttributes redirectAttributes) {
+        try {
+            archiveService.archiveClosedItems();
+            redirectAttributes.addFlashAttribute("message", "Closed items archived successfully!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error archiving items: " + e.getMessage());
+        }
+        return "redirect:/admin/archive";
+    }
+
+    /**
+     * Display the gazetteer of canonical locations.
+     * @param model the model
+     * @return admin-locations page template name
+     */
+    @GetMapping("/locations")
+    public String locations(Model model) {
+        model.addAttribute("locations", gazetteerService.getLocationTree());
+        model.addAttribute("levels", LocationLevel.values());
+        model.addAttribute("resolving", gazetteerService.isResolving());
+        return "admin-locations";
+    }
+
+    /**
+     * Add a location to the gazetteer.
+     * @param name the location name
+     * @param level the location level
+     * @param parentId ID of the containing location (optional)
+     * @param aliases comma-separated other names (optional)
+     * @param redirectAttributes redirect attributes
+     * @return redirect to the locations page
+     */
+    @PostMapping("/locations")
+    public String addLocation(@RequestParam String name,
+                              @RequestParam LocationLevel level,
+                              @RequestParam(required = false) Long parentId,
+                              @RequestParam(required = false) String aliases,
+                              RedirectAttributes redirectAttributes) {
+        try {
+            gazetteerService.addLocation(name, level, parentId, aliases);
+            redirectAttributes.addFlashAttribute("message", "Location added successfully!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error adding location: " + e.getMessage());
+        }
+        return "redirect:/admin/locations";
+    }
+
+    /**
+     * Resolve the locations of items reported before the gazetteer named them.
+     * Runs in the background.
+     * @param redirectAttributes redirect attributes
+     * @return redirect to the locations page
+     */
+    @PostMapping("/locations/resolve")
+    public String resolveLocations(RedirectAttributes redirectAttributes) {
+        gazetteerService.resolveUnresolvedItems();
+        redirectAttributes.addFlashAttribute("message", "Resolving item locations in the background.");
+        return "redirect:/admin/locations";
+    }
+
     /**
      * Update item status (approve/reject/recover).
      * @param itemType the item type (lost or found)
@@ -89,6 +242,89 @@ public class AdminController {
         return "redirect:/admin/dashboard";
     }
 
+    /**
+     * Update the status of many items at once.
+     * @param lostIds IDs of lost items to update
+     * @param foundIds IDs of found items to update
+     * @param status the new status
+     * @param redirectAttributes redirect attributes
+     * @return redirect to admin dashboard
+     */
+    @PostMapping("/bulk-update-status")
+    public String bulkUpdateStatus(@RequestParam(required = false) List<Long> lostIds,
+                                   @RequestParam(required = false) List<Long> foundIds,
+                                   @RequestParam ItemStatus status,
+                                   RedirectAttributes redirectAttributes) {
+        try {
+            Set<Long> lost = distinctIds(lostIds);
+            Set<Long> found = distinctIds(foundIds);
+            checkBulkSize(lost, found);
+            List<BulkItemResult> results = new ArrayList<>();
+            if (!lost.isEmpty()) {
+                results.addAll(lostItemService.bulkUpdateStatus(lost, status));
+            }
+            if (!found.isEmpty()) {
+                results.addAll(foundItemService.bulkUpdateStatus(found, status));
+            }
+            redirectAttributes.addFlashAttribute("message", summarize(results));
+            redirectAttributes.addFlashAttribute("bulkResults", results);
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error updating status: " + e.getMessage());
+        }
+        return "redirect:/admin/dashboard";
+    }
+
+    /**
+     * Delete many items at once.
+     * @param lostIds IDs of lost items to delete
+     * @param foundIds IDs of found items to delete
+     * @param redirectAttributes redirect attributes
+     * @return redirect to admin dashboard
+     */
+    @PostMapping("/bulk-delete")
+    public String bulkDelete(@RequestParam(required = false) List<Long> lostIds,
+                             @RequestParam(required = false) List<Long> foundIds,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            Set<Long> lost = distinctIds(lostIds);
+            Set<Long> found = distinctIds(foundIds);
+            checkBulkSize(lost, found);
+            List<BulkItemResult> results = new ArrayList<>();
+            if (!lost.isEmpty()) {
+                results.addAll(lostItemService.bulkDelete(lost));
+            }
+            if (!found.isEmpty()) {
+                results.addAll(foundItemService.bulkDelete(found));
+            }
+            redirectAttributes.addFlashAttribute("message", summarize(results));
+            redirectAttributes.addFlashAttribute("bulkResults", results);
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error deleting items: " + e.getMessage());
+        }
+        return "redirect:/admin/dashboard";
+    }
+
+    /**
+     * Mark a lost item and a found item as matched.
+     * Fails without changing anything if either item was matched or changed concurrently.
+     * @param lostItemId the lost item ID
+     * @param foundItemId the found item ID
+     * @param redirectAttributes redirect attributes
+     * @return redirect to admin dashboard
+     */
+    @PostMapping("/match")
+    public String matchItems(@RequestParam Long lostItemId,
+                             @RequestParam Long foundItemId,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            matchService.markAsMatched(lostItemId, foundItemId);
+            redirectAttributes.addFlashAttribute("message", "Items matched successfully!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error matching items: " + e.getMessage());
+        }
+        return "redirect:/admin/dashboard";
+    }
+
     /**
      * Delete an item (admin only).
      * @param itemType the item type (lost or found)
@@ -114,6 +350,100 @@ public class AdminController {
         return "redirect:/admin/dashboard";
     }
 
+    /**
+     * Bulk import found items from a CSV or NDJSON file.
+     * The per-row error report is shown on the admin dashboard.
+     * @param file the uploaded CSV or NDJSON file
+     * @param redirectAttributes redirect attributes
+     * @return redirect to admin dashboard
+     */
+    @PostMapping("/import-found-items")
+    public String importFoundItems(@RequestParam MultipartFile file,
+                                   RedirectAttributes redirectAttributes) {
+        try {
+            if (file.isEmpty()) {
+                throw new IllegalArgumentException("Please choose a CSV or NDJSON file to import");
+            }
+            ImportReport report = foundItemImportService.importFoundItems(file, getCurrentUserId());
+            redirectAttributes.addFlashAttribute("message", String.format(
+                    "Imported %d of %d rows in %d ms", report.getImportedRows(),
+                    report.getTotalRows(), report.getElapsedMillis()));
+            redirectAttributes.addFlashAttribute("importReport", report);
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error importing found items: " + e.getMessage());
+        }
+        return "redirect:/admin/dashboard";
+    }
+
+    /**
+     * Export all lost or found items as CSV or NDJSON.
+     * The response is streamed from a database cursor, optionally gzip-compressed on the fly.
+     * @param itemType the item type (lost or found)
+     * @param format the export format (csv or ndjson)
+     * @param gzip whether to gzip the download
+     * @return streaming response with the exported items
+     * @throws IllegalArgumentException if the item type or format is unknown
+     */
+    @GetMapping("/export/{itemType}")
+    public ResponseEntity<StreamingResponseBody> exportItems(@PathVariable String itemType,
+                                                             @RequestParam(defaultValue = "csv") String format,
+                                                             @RequestParam(defaultValue = "false") boolean gzip) {
+        boolean lost = "lost".equalsIgnoreCase(itemType);
+        if (!lost && !"found".equalsIgnoreCase(itemType)) {
+            throw new IllegalArgumentException("Unknown item type: " + itemType);
+        }
+        ItemExportService.Format exportFormat;
+        try {
+            exportFormat = ItemExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export format: " + format);
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            if (lost) {
+                itemExportService.exportLostItems(out, exportFormat);
+            } else {
+                itemExportService.exportFoundItems(out, exportFormat);
+            }
+            if (out instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+        };
+
+        String filename = (lost ? "lost" : "found") + "-items."
+                + (exportFormat == ItemExportService.Format.CSV ? "csv" : "ndjson") + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : exportFormat == ItemExportService.Format.CSV ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                : MediaType.parseMediaType("application/x-ndjson");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(contentType)
+                .body(body);
+    }
+
+    private static Set<Long> distinctIds(List<Long> ids) {
+        return ids == null ? new LinkedHashSet<>() : new LinkedHashSet<>(ids);
+    }
+
+    private static void checkBulkSize(Set<Long> lostIds, Set<Long> foundIds) {
+        int total = lostIds.size() + foundIds.size();
+        if (total == 0) {
+            throw new IllegalArgumentException("No items selected");
+        }
+        if (total > MAX_BULK_ITEMS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_ITEMS + " items can be changed at once");
+        }
+    }
+
+    private static String summarize(List<BulkItemResult> results) {
+        long notFound = results.stream().filter(r -> "NOT_FOUND".equals(r.getOutcome())).count();
+        long unchanged = results.stream().filter(r -> "UNCHANGED".equals(r.getOutcome())).count();
+        long changed = results.size() - notFound - unchanged;
+        return String.format("%d items changed, %d unchanged, %d not found", changed, unchanged, notFound);
+    }
+
     /**
      * Get current authenticated user ID.
      * @return user ID
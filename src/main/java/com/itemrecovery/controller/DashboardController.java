@@ -4,6 +4,7 @@ import com.itemrecovery.dto.ItemResponse;
 import com.itemrecovery.model.User;
 import com.itemrecovery.service.FoundItemService;
 import com.itemrecovery.service.LostItemService;
+import com.itemrecovery.service.NotificationService;
 import com.itemrecovery.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
@@ -11,12 +12,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
 
 /**
  * Controller for dashboard operations.
- * Displays user dashboard with their lost and found items.
+ * Displays user dashboard with their lost and found items and notification inbox.
  */
 @Controller
 public class DashboardController {
@@ -27,12 +30,15 @@ public class DashboardController {
     @Autowired
     private FoundItemService foundItemService;
     
+    @Autowired
+    private NotificationService notificationService;
+    
     @Autowired
     private UserService userService;
 
     /**
      * Display user dashboard.
-     * Shows user's lost and found items.
+     * Shows user's lost and found items and recent notifications.
      * @param model the model
      * @return dashboard page template name
      */
@@ -50,10 +56,26 @@ public class DashboardController {
         
         model.addAttribute("lostItems", lostItemResponses);
         model.addAttribute("foundItems", foundItemResponses);
+        model.addAttribute("notifications", notificationService.getRecentNotifications(userId));
+        model.addAttribute("unreadNotifications", notificationService.countUnread(userId));
         
         return "dashboard";
     }
 
+    /**
+     * Mark all of the current user's notifications as read.
+     * @param redirectAttributes redirect attributes
+     * @return redirect to dashboard
+     */
+    @PostMapping("/notifications/read")
+    public String markNotificationsRead(RedirectAttributes redirectAttributes) {
+        int marked = notificationService.markAllRead(getCurrentUserId());
+        if (marked > 0) {
+            redirectAttributes.addFlashAttribute("message", "Notifications marked as read.");
+        }
+        return "redirect:/dashboard";
+    }
+
     /**
      * Get current authenticated user ID.
      * @return user ID
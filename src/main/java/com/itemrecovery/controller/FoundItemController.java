@@ -3,18 +3,29 @@ package com.itemrecovery.controller;
 import com.itemrecovery.dto.ItemResponse;
 import com.itemrecovery.model.FoundItem;
 import com.itemrecovery.model.User;
+import com.itemrecovery.service.FoundItemFeedFilter;
+import com.itemrecovery.service.FoundItemFeedService;
 import com.itemrecovery.service.FoundItemService;
+import com.itemrecovery.service.ImageService;
+import com.itemrecovery.service.PreparedImage;
 import com.itemrecovery.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -29,9 +40,18 @@ public class FoundItemController {
     @Autowired
     private FoundItemService foundItemService;
     
+    @Autowired
+    private FoundItemFeedService foundItemFeedService;
+    
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ImageService imageService;
+    
+    @Value("${app.feed.retry-after:PT30S}")
+    private Duration feedRetryAfter;
+
     /**
      * Display form to report a found item.
      * @param model the model
@@ -62,8 +82,12 @@ public class FoundItemController {
                                   @RequestParam(required = false) MultipartFile imageFile,
                                   RedirectAttributes redirectAttributes) {
         try {
-            Long userId = getCurrentUserId();
-            foundItemService.createFoundItem(name, description, date, location, contact, imageFile, userId);
+            // The image is normalized before any database access: the session held open
+            // for the view keeps its connection from the first query to the end of the request
+            try (PreparedImage image = imageService.prepare(imageFile)) {
+                Long userId = getCurrentUserId();
+                foundItemService.createFoundItem(name, description, date, location, contact, image, userId);
+            }
             redirectAttributes.addFlashAttribute("message", "Found item reported successfully!");
         } catch (IOException e) {
             redirectAttributes.addFlashAttribute("error", "Error uploading image: " + e.getMessage());
@@ -98,6 +122,30 @@ public class FoundItemController {
         return "view-items";
     }
 
+    /**
+     * Stream newly reported found items as server-sent events.
+     * Only items matching the given filter are sent; heartbeats keep the connection open.
+     * @param keywords space-separated keywords that must all occur in the name or description
+     * @param location text that must occur in the location
+     * @param from earliest date found
+     * @param to latest date found
+     * @return the event stream, or 503 with Retry-After when too many feeds are open
+     * @throws IllegalArgumentException if the filter is invalid
+     */
+    @GetMapping(path = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> feed(@RequestParam(required = false) String keywords,
+                                           @RequestParam(required = false) String location,
+                                           @RequestParam(required = false) LocalDate from,
+                                           @RequestParam(required = false) LocalDate to) {
+        SseEmitter emitter = foundItemFeedService.subscribe(FoundItemFeedFilter.of(keywords, location, from, to));
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(feedRetryAfter.toSeconds()))
+                    .build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
     /**
      * Delete a found item.
      * @param id the item ID
@@ -112,8 +160,6 @@ public class FoundItemController {
             redirectAttributes.addFlashAttribute("message", "Found item deleted successfully!");
         } catch (IllegalArgumentException e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
-        } catch (IOException e) {
-            redirectAttributes.addFlashAttribute("error", "Error deleting image: " + e.getMessage());
         }
         return "redirect:/dashboard";
     }
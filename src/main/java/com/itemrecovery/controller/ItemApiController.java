@@ -0,0 +1,213 @@
+package com.itemrecovery.controller;
+
+import com.itemrecovery.dto.ItemFeedPage;
+import com.itemrecovery.dto.ItemResponse;
+import com.itemrecovery.dto.ItemSearchRequest;
+import com.itemrecovery.dto.ItemSearchResult;
+import com.itemrecovery.dto.MatchRequest;
+import com.itemrecovery.dto.StatusUpdateRequest;
+import com.itemrecovery.exception.ResourceNotFoundException;
+import com.itemrecovery.model.ItemStatus;
+import com.itemrecovery.service.FoundItemService;
+import com.itemrecovery.service.ItemFeedService;
+import com.itemrecovery.service.ItemSearchService;
+import com.itemrecovery.service.LostItemService;
+import com.itemrecovery.service.MatchService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * REST controller for the versioned JSON API used by mobile clients.
+ * Responses carry weak ETags derived from item versions; a GET whose If-None-Match
+ * still matches is answered with 304 and no body. Every response must be revalidated
+ * (Cache-Control: no-cache), so polling an unchanged list costs one small round trip.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class ItemApiController {
+    
+    @Autowired
+    private ItemFeedService itemFeedService;
+    
+    @Autowired
+    private LostItemService lostItemService;
+    
+    @Autowired
+    private FoundItemService foundItemService;
+    
+    @Autowired
+    private MatchService matchService;
+    
+    @Autowired
+    private ItemSearchService itemSearchService;
+    
+    @Value("${app.matching.timeout:PT10S}")
+    private Duration matchTimeout;
+
+    /**
+     * List lost and found items, newest first.
+     * @param type "lost", "found", or absent for both
+     * @param status the status to filter by, or absent for any
+     * @param location location substring to filter by, or absent for any
+     * @param cursor the nextCursor of the previous page, or absent for the first page
+     * @return one page of items
+     */
+    @GetMapping("/items")
+    public ResponseEntity<ItemFeedPage> getItems(@RequestParam(required = false) String type,
+                                                 @RequestParam(required = false) ItemStatus status,
+                                                 @RequestParam(required = false) String location,
+                                                 @RequestParam(required = false) String cursor) {
+        ItemFeedPage page = itemFeedService.getPage(type, status, location, cursor);
+        return revalidated(listEtag(page.getItems(), page.getNextCursor())).body(page);
+    }
+
+    /**
+     * Search lost and found items with facet counts.
+     * @param request free text, type, status, date range, location and page
+     * @return one page of matching items with status, location and week facets
+     */
+    @GetMapping("/search")
+    public ItemSearchResult search(@ModelAttribute ItemSearchRequest request) {
+        return itemSearchService.search(request);
+    }
+
+    /**
+     * Get one item.
+     * @param type "lost" or "found"
+     * @param id the item ID
+     * @return the item
+     */
+    @GetMapping("/items/{type}/{id}")
+    public ResponseEntity<ItemResponse> getItem(@PathVariable String type, @PathVariable Long id) {
+        ItemResponse item = findItem(type, id);
+        return revalidated(itemEtag(item)).body(item);
+    }
+
+    /**
+     * List potential matches for an item: open items of the other type that score above the threshold.
+     * The lookup runs on the match executor and the request thread is released meanwhile.
+     * A full executor queue or a lookup exceeding app.matching.timeout is answered with 503;
+     * a lookup still queued at the timeout is dropped when its turn comes instead of run.
+     * @param type "lost" or "found"
+     * @param id the item ID
+     * @return the candidate items, once computed
+     */
+    @GetMapping("/items/{type}/{id}/matches")
+    public DeferredResult<ResponseEntity<List<ItemResponse>>> getMatches(@PathVariable String type,
+                                                                        @PathVariable Long id) {
+        findItem(type, id);
+        DeferredResult<ResponseEntity<List<ItemResponse>>> result = new DeferredResult<>(matchTimeout.toMillis());
+        CompletableFuture<List<ItemResponse>> matches = isLost(type)
+                ? matchService.findMatchesForLostItemAsync(id)
+                : matchService.findMatchesForFoundItemAsync(id);
+        // Cancelling the executor's future skips its task if it has not started yet
+        result.onTimeout(() -> matches.cancel(false));
+        matches.whenComplete((items, error) -> {
+            if (error != null) {
+                result.setErrorResult(error instanceof CompletionException ? error.getCause() : error);
+            } else {
+                result.setResult(revalidated(listEtag(items, null)).body(items));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Change an item's status (admin only).
+     * @param type "lost" or "found"
+     * @param id the item ID
+     * @param request the new status
+     * @return the updated item
+     */
+    @PutMapping("/items/{type}/{id}/status")
+    public ResponseEntity<ItemResponse> updateStatus(@PathVariable String type, @PathVariable Long id,
+                                                     @Valid @RequestBody StatusUpdateRequest request) {
+        findItem(type, id);
+        if (isLost(type)) {
+            lostItemService.updateStatus(id, request.getStatus());
+        } else {
+            foundItemService.updateStatus(id, request.getStatus());
+        }
+        ItemResponse item = findItem(type, id);
+        return revalidated(itemEtag(item)).body(item);
+    }
+
+    /**
+     * Mark a lost and a found item as matched (admin only).
+     * @param request the two item IDs
+     * @return 204 No Content
+     */
+    @PostMapping("/matches")
+    public ResponseEntity<Void> createMatch(@Valid @RequestBody MatchRequest request) {
+        findItem("lost", request.getLostItemId());
+        findItem("found", request.getFoundItemId());
+        matchService.markAsMatched(request.getLostItemId(), request.getFoundItemId());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Load an item, translating the services' lookup failure into a 404.
+     * @param type "lost" or "found"
+     * @param id the item ID
+     * @return the item
+     * @throws IllegalArgumentException if the type is unknown
+     * @throws ResourceNotFoundException if there is no such item
+     */
+    private ItemResponse findItem(String type, Long id) {
+        boolean lost = isLost(type);
+        try {
+            return lost
+                    ? lostItemService.toItemResponse(lostItemService.getLostItemById(id))
+                    : foundItemService.toItemResponse(foundItemService.getFoundItemById(id));
+        } catch (IllegalArgumentException e) {
+            throw new ResourceNotFoundException(e.getMessage());
+        }
+    }
+
+    private static boolean isLost(String type) {
+        String normalized = type.toLowerCase(Locale.ROOT);
+        if (!"lost".equals(normalized) && !"found".equals(normalized)) {
+            throw new IllegalArgumentException("Unknown item type: " + type);
+        }
+        return "lost".equals(normalized);
+    }
+
+    /**
+     * Start a 200 response that clients must revalidate with its ETag.
+     * For a GET, Spring answers 304 instead when If-None-Match matches the ETag.
+     */
+    private static ResponseEntity.BodyBuilder revalidated(String etag) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag);
+    }
+
+    private static String itemEtag(ItemResponse item) {
+        return "W/\"" + item.getItemType() + "-" + item.getId() + "-" + item.getVersion() + "\"";
+    }
+
+    /**
+     * Weak ETag of a list: a digest of each item's type, ID and version in order,
+     * so it changes when an item is added, removed, reordered or updated.
+     */
+    private static String listEtag(List<ItemResponse> items, String nextCursor) {
+        StringBuilder state = new StringBuilder();
+        for (ItemResponse item : items) {
+            state.append(item.getItemType()).append(':').append(item.getId())
+                 .append(':').append(item.getVersion()).append(';');
+        }
+        state.append(nextCursor);
+        return "W/\"" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
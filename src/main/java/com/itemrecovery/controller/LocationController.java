@@ -0,0 +1,40 @@
+package com.itemrecovery.controller;
+
+import com.itemrecovery.dto.LocationSuggestion;
+import com.itemrecovery.service.LocationSuggestionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Controller for location autocomplete on the report forms.
+ * Answers from memory, so it is cheap enough to call on every keystroke.
+ */
+@RestController
+@RequestMapping("/locations")
+public class LocationController {
+    
+    @Autowired
+    private LocationSuggestionService locationSuggestionService;
+
+    /**
+     * Suggest known locations for typed text.
+     * @param q the typed text
+     * @param limit maximum number of suggestions
+     * @return suggestions, most reported first
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<LocationSuggestion>> suggest(@RequestParam String q,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)).cachePrivate())
+                .body(locationSuggestionService.suggest(q, limit));
+    }
+}
@@ -4,7 +4,9 @@ import com.itemrecovery.dto.ItemResponse;
 import com.itemrecovery.model.ItemStatus;
 import com.itemrecovery.model.LostItem;
 import com.itemrecovery.model.User;
+import com.itemrecovery.service.ImageService;
 import com.itemrecovery.service.LostItemService;
+import com.itemrecovery.service.PreparedImage;
 import com.itemrecovery.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
@@ -33,6 +35,9 @@ public class LostItemController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ImageService imageService;
+
     /**
      * Display form to report a lost item.
      * @param model the model
@@ -63,8 +68,12 @@ public class LostItemController {
                                  @RequestParam(required = false) MultipartFile imageFile,
                                  RedirectAttributes redirectAttributes) {
         try {
-            Long userId = getCurrentUserId();
-            lostItemService.createLostItem(name, description, date, location, contact, imageFile, userId);
+            // The image is normalized before any database access: the session held open
+            // for the view keeps its connection from the first query to the end of the request
+            try (PreparedImage image = imageService.prepare(imageFile)) {
+                Long userId = getCurrentUserId();
+                lostItemService.createLostItem(name, description, date, location, contact, image, userId);
+            }
             redirectAttributes.addFlashAttribute("message", "Lost item reported successfully!");
         } catch (IOException e) {
             redirectAttributes.addFlashAttribute("error", "Error uploading image: " + e.getMessage());
@@ -113,8 +122,6 @@ public class LostItemController {
             redirectAttributes.addFlashAttribute("message", "Lost item deleted successfully!");
         } catch (IllegalArgumentException e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
-        } catch (IOException e) {
-            redirectAttributes.addFlashAttribute("error", "Error deleting image: " + e.getMessage());
         }
         return "redirect:/dashboard";
     }
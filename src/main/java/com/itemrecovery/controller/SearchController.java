@@ -0,0 +1,34 @@
+package com.itemrecovery.controller;
+
+import com.itemrecovery.dto.ItemSearchRequest;
+import com.itemrecovery.model.ItemStatus;
+import com.itemrecovery.service.ItemSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+
+/**
+ * Controller for searching lost and found items.
+ * Displays matching items with facet counts to narrow the search.
+ */
+@Controller
+public class SearchController {
+    
+    @Autowired
+    private ItemSearchService itemSearchService;
+
+    /**
+     * Display search results.
+     * @param request free text, type, status, date range, location and page
+     * @param model the model
+     * @return search page template name
+     */
+    @GetMapping("/search")
+    public String search(@ModelAttribute("search") ItemSearchRequest request, Model model) {
+        model.addAttribute("result", itemSearchService.search(request));
+        model.addAttribute("statuses", ItemStatus.values());
+        return "search";
+    }
+}
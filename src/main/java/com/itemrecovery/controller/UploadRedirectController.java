@@ -0,0 +1,48 @@
+package com.itemrecovery.controller;
+
+import com.itemrecovery.service.ImageLayout;
+import com.itemrecovery.service.S3ImageStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.io.IOException;
+
+/**
+ * Controller for image URLs when images are kept in S3.
+ * Redirects /uploads/** to a presigned bucket URL, so image bytes never pass
+ * through the app nodes.
+ */
+@Controller
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class UploadRedirectController {
+
+    @Autowired
+    private S3ImageStorage imageStorage;
+
+    /**
+     * Redirect an image URL to the bucket.
+     * @param request the request, whose path is the image key
+     * @return temporary redirect, cacheable for part of the presigned URL's lifetime
+     * @throws IOException if the bucket cannot be reached
+     */
+    @GetMapping("/uploads/**")
+    public ResponseEntity<Void> redirectToImage(HttpServletRequest request) throws IOException {
+        String key = request.getRequestURI().substring(request.getContextPath().length() + 1);
+
+        // Links rendered before the layout migration still name the flat key
+        if (!ImageLayout.isSharded(key) && !imageStorage.exists(key)) {
+            key = ImageLayout.sharded(key);
+        }
+
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(imageStorage.presignedUrl(key))
+                .cacheControl(CacheControl.maxAge(imageStorage.getPresignExpiry().dividedBy(2)).cachePrivate())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.itemrecovery.dto;
+
+/**
+ * Data Transfer Object describing what a bulk admin action did to one item.
+ */
+public class BulkItemResult {
+    
+    private String itemType; // "LOST" or "FOUND"
+    private Long id;
+    private String outcome; // "UPDATED", "UNCHANGED", "DELETED" or "NOT_FOUND"
+
+    // Constructors
+    public BulkItemResult() {
+    }
+
+    public BulkItemResult(String itemType, Long id, String outcome) {
+        this.itemType = itemType;
+        this.id = id;
+        this.outcome = outcome;
+    }
+
+    // Getters and Setters
+    public String getItemType() {
+        return itemType;
+    }
+
+    public void setItemType(String itemType) {
+        this.itemType = itemType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+}
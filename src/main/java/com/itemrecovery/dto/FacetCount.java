@@ -0,0 +1,46 @@
+package com.itemrecovery.dto;
+
+/**
+ * Data Transfer Object for one value of a search facet and the number of matching items.
+ */
+public class FacetCount {
+    
+    private String value; // value to filter by
+    private String label;
+    private long count;
+
+    // Constructors
+    public FacetCount() {
+    }
+
+    public FacetCount(String value, String label, long count) {
+        this.value = value;
+        this.label = label;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
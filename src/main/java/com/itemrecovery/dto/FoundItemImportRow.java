@@ -0,0 +1,89 @@
+package com.itemrecovery.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for one row of a bulk found item import.
+ * Carries the source row number so validation errors can be reported back.
+ */
+public class FoundItemImportRow {
+    
+    private long rowNumber;
+
+    @NotBlank(message = "Item name is required")
+    @Size(max = 255, message = "Item name must be at most 255 characters")
+    private String name;
+
+    @NotBlank(message = "Description is required")
+    private String description;
+
+    @NotNull(message = "Date found is required")
+    @PastOrPresent(message = "Date found cannot be in the future")
+    private LocalDate date;
+
+    @NotBlank(message = "Location is required")
+    @Size(max = 255, message = "Location must be at most 255 characters")
+    private String location;
+
+    @NotBlank(message = "Contact details are required")
+    @Size(max = 255, message = "Contact details must be at most 255 characters")
+    private String contact;
+
+    // Constructors
+    public FoundItemImportRow() {
+    }
+
+    // Getters and Setters
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    public void setRowNumber(long rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getContact() {
+        return contact;
+    }
+
+    public void setContact(String contact) {
+        this.contact = contact;
+    }
+}
@@ -0,0 +1,66 @@
+package com.itemrecovery.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object summarizing a bulk import.
+ * Contains row counts, elapsed time and the per-row errors.
+ */
+public class ImportReport {
+    
+    private long totalRows;
+    private long importedRows;
+    private long elapsedMillis;
+    private List<ImportRowError> errors = new ArrayList<>();
+
+    // Constructors
+    public ImportReport() {
+    }
+
+    /**
+     * Record a rejected row.
+     * @param rowNumber the source row number
+     * @param message the reason the row was rejected
+     */
+    public void addError(long rowNumber, String message) {
+        errors.add(new ImportRowError(rowNumber, message));
+    }
+
+    // Getters and Setters
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public void setImportedRows(long importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public long getFailedRows() {
+        return errors.size();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<ImportRowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportRowError> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,36 @@
+package com.itemrecovery.dto;
+
+/**
+ * Data Transfer Object describing why a single import row was rejected.
+ */
+public class ImportRowError {
+    
+    private long rowNumber;
+    private String message;
+
+    // Constructors
+    public ImportRowError() {
+    }
+
+    public ImportRowError(long rowNumber, String message) {
+        this.rowNumber = rowNumber;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    public void setRowNumber(long rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,70 @@
+package com.itemrecovery.dto;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset pagination cursor for the unified admin item feed.
+ * Identifies the last item of a page by its sort key (date, item type, ID)
+ * and is passed between pages as a compact string.
+ */
+public class ItemFeedCursor {
+    
+    private final LocalDate date;
+    private final String itemType;
+    private final Long id;
+
+    public ItemFeedCursor(LocalDate date, String itemType, Long id) {
+        this.date = date;
+        this.itemType = itemType;
+        this.id = id;
+    }
+
+    /**
+     * Create the cursor pointing just past the given item.
+     * @param item the last item of a page
+     * @return cursor for the next page
+     */
+    public static ItemFeedCursor after(ItemResponse item) {
+        return new ItemFeedCursor(item.getDate(), item.getItemType(), item.getId());
+    }
+
+    /**
+     * Parse a cursor produced by {@link #encode()}.
+     * @param value the encoded cursor
+     * @return the cursor
+     * @throws IllegalArgumentException if the value is not a valid cursor
+     */
+    public static ItemFeedCursor parse(String value) {
+        String[] parts = value.split("_");
+        if (parts.length != 3 || !("LOST".equals(parts[1]) || "FOUND".equals(parts[1]))) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        try {
+            return new ItemFeedCursor(LocalDate.parse(parts[0]), parts[1], Long.parseLong(parts[2]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Encode the cursor for use in a URL.
+     * @return the encoded cursor
+     */
+    public String encode() {
+        return date + "_" + itemType + "_" + id;
+    }
+
+    // Getters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getItemType() {
+        return itemType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
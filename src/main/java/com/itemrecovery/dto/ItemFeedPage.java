@@ -0,0 +1,43 @@
+package com.itemrecovery.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of the unified admin item feed.
+ * Contains the items and the cursor of the next page (null on the last page).
+ */
+public class ItemFeedPage {
+    
+    private List<ItemResponse> items;
+    private String nextCursor;
+
+    // Constructors
+    public ItemFeedPage() {
+    }
+
+    public ItemFeedPage(List<ItemResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<ItemResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.itemrecovery.dto;
 
+import com.itemrecovery.model.ImageVariant;
 import com.itemrecovery.model.ItemStatus;
 
 import java.time.LocalDate;
@@ -21,6 +22,7 @@ public class ItemResponse {
     private String username;
     private Long userId;
     private String itemType; // "LOST" or "FOUND"
+    private Long version; // optimistic lock version, null for archived items
 
     // Constructors
     public ItemResponse() {
@@ -83,6 +85,24 @@ public class ItemResponse {
         this.imagePath = imagePath;
     }
 
+    /**
+     * Get the path of the thumbnail generated for the image.
+     * The file may not exist yet while it is being generated.
+     * @return thumbnail path, or null if the item has no image
+     */
+    public String getThumbnailPath() {
+        return ImageVariant.THUMBNAIL.pathFor(imagePath);
+    }
+
+    /**
+     * Get the path of the medium-size preview generated for the image.
+     * The file may not exist yet while it is being generated.
+     * @return preview path, or null if the item has no image
+     */
+    public String getPreviewPath() {
+        return ImageVariant.PREVIEW.pathFor(imagePath);
+    }
+
     public ItemStatus getStatus() {
         return status;
     }
@@ -114,4 +134,12 @@ public class ItemResponse {
     public void setItemType(String itemType) {
         this.itemType = itemType;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
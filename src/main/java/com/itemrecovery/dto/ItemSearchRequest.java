@@ -0,0 +1,96 @@
+package com.itemrecovery.dto;
+
+import com.itemrecovery.model.ItemStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for item search parameters.
+ * All criteria are optional; an empty request matches every lost and found item.
+ */
+public class ItemSearchRequest {
+    
+    private String q; // free text, all words must match
+    private String type; // "lost", "found", or blank for both
+    private List<ItemStatus> status = new ArrayList<>(); // any of these statuses, or empty for all
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate week; // week facet value (a Monday), overrides from and to
+    private String location; // location facet value
+    private int page;
+
+    // Constructors
+    public ItemSearchRequest() {
+    }
+
+    // Getters and Setters
+    public String getQ() {
+        return q;
+    }
+
+    public void setQ(String q) {
+        this.q = q;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public List<ItemStatus> getStatus() {
+        return status;
+    }
+
+    public void setStatus(List<ItemStatus> status) {
+        this.status = status;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public LocalDate getWeek() {
+        return week;
+    }
+
+    public void setWeek(LocalDate week) {
+        this.week = week;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+}
@@ -0,0 +1,93 @@
+package com.itemrecovery.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of item search results with facet counts.
+ * Each facet is counted with every filter applied except its own, so the counts
+ * show how many items selecting another value of that facet would return.
+ */
+public class ItemSearchResult {
+    
+    private List<ItemResponse> items;
+    private long total;
+    private int page;
+    private int pageSize;
+    private List<FacetCount> statusFacets;
+    private List<FacetCount> locationFacets;
+    private List<FacetCount> weekFacets;
+    private boolean ready; // false while the search index is still loading
+
+    // Constructors
+    public ItemSearchResult() {
+    }
+
+    // Getters and Setters
+    public List<ItemResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemResponse> items) {
+        this.items = items;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public List<FacetCount> getStatusFacets() {
+        return statusFacets;
+    }
+
+    public void setStatusFacets(List<FacetCount> statusFacets) {
+        this.statusFacets = statusFacets;
+    }
+
+    public List<FacetCount> getLocationFacets() {
+        return locationFacets;
+    }
+
+    public void setLocationFacets(List<FacetCount> locationFacets) {
+        this.locationFacets = locationFacets;
+    }
+
+    public List<FacetCount> getWeekFacets() {
+        return weekFacets;
+    }
+
+    public void setWeekFacets(List<FacetCount> weekFacets) {
+        this.weekFacets = weekFacets;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    public int getTotalPages() {
+        return (int) ((total + pageSize - 1) / pageSize);
+    }
+}
@@ -0,0 +1,81 @@
+package com.itemrecovery.dto;
+
+import com.itemrecovery.model.LocationLevel;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one location in the gazetteer tree.
+ * The depth is 0 for top-level locations; the path names every containing location.
+ */
+public class LocationNode {
+    
+    private Long id;
+    private String name;
+    private LocationLevel level;
+    private int depth;
+    private String path;
+    private List<String> aliases;
+
+    // Constructors
+    public LocationNode() {
+    }
+
+    public LocationNode(Long id, String name, LocationLevel level, int depth, String path, List<String> aliases) {
+        this.id = id;
+        this.name = name;
+        this.level = level;
+        this.depth = depth;
+        this.path = path;
+        this.aliases = aliases;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocationLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(LocationLevel level) {
+        this.level = level;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    public void setAliases(List<String> aliases) {
+        this.aliases = aliases;
+    }
+}
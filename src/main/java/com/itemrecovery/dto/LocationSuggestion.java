@@ -0,0 +1,37 @@
+package com.itemrecovery.dto;
+
+/**
+ * Data Transfer Object for a location autocomplete suggestion.
+ * The name is the most common spelling of the location; the count is how often it was reported.
+ */
+public class LocationSuggestion {
+    
+    private String name;
+    private long count;
+
+    // Constructors
+    public LocationSuggestion() {
+    }
+
+    public LocationSuggestion(String name, long count) {
+        this.name = name;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
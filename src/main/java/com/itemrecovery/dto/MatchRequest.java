@@ -0,0 +1,41 @@
+package com.itemrecovery.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Data Transfer Object for API requests marking a lost and a found item as matched.
+ */
+public class MatchRequest {
+    
+    @NotNull(message = "Lost item ID is required")
+    private Long lostItemId;
+
+    @NotNull(message = "Found item ID is required")
+    private Long foundItemId;
+
+    // Constructors
+    public MatchRequest() {
+    }
+
+    public MatchRequest(Long lostItemId, Long foundItemId) {
+        this.lostItemId = lostItemId;
+        this.foundItemId = foundItemId;
+    }
+
+    // Getters and Setters
+    public Long getLostItemId() {
+        return lostItemId;
+    }
+
+    public void setLostItemId(Long lostItemId) {
+        this.lostItemId = lostItemId;
+    }
+
+    public Long getFoundItemId() {
+        return foundItemId;
+    }
+
+    public void setFoundItemId(Long foundItemId) {
+        this.foundItemId = foundItemId;
+    }
+}
@@ -0,0 +1,68 @@
+package com.itemrecovery.dto;
+
+import java.time.Duration;
+
+/**
+ * Data Transfer Object for the counters of one rate limit rule.
+ */
+public class RateLimitStats {
+    
+    private String rule;
+    private int capacity;
+    private Duration refillPeriod;
+    private long allowed;
+    private long throttled;
+
+    // Constructors
+    public RateLimitStats() {
+    }
+
+    public RateLimitStats(String rule, int capacity, Duration refillPeriod, long allowed, long throttled) {
+        this.rule = rule;
+        this.capacity = capacity;
+        this.refillPeriod = refillPeriod;
+        this.allowed = allowed;
+        this.throttled = throttled;
+    }
+
+    // Getters and Setters
+    public String getRule() {
+        return rule;
+    }
+
+    public void setRule(String rule) {
+        this.rule = rule;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Duration getRefillPeriod() {
+        return refillPeriod;
+    }
+
+    public void setRefillPeriod(Duration refillPeriod) {
+        this.refillPeriod = refillPeriod;
+    }
+
+    public long getAllowed() {
+        return allowed;
+    }
+
+    public void setAllowed(long allowed) {
+        this.allowed = allowed;
+    }
+
+    public long getThrottled() {
+        return throttled;
+    }
+
+    public void setThrottled(long throttled) {
+        this.throttled = throttled;
+    }
+}
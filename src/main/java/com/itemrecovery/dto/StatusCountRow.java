@@ -0,0 +1,61 @@
+package com.itemrecovery.dto;
+
+import com.itemrecovery.model.ItemStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for one row of the admin status overview.
+ * Holds the item count per status for a bucket (a day or a location).
+ */
+public class StatusCountRow {
+    
+    private String label;
+    private Map<ItemStatus, Long> counts = new EnumMap<>(ItemStatus.class);
+
+    // Constructors
+    public StatusCountRow() {
+    }
+
+    public StatusCountRow(String label) {
+        this.label = label;
+        for (ItemStatus status : ItemStatus.values()) {
+            counts.put(status, 0L);
+        }
+    }
+
+    /**
+     * Get the count for one status.
+     * @param status the status
+     * @return number of items with that status in this bucket
+     */
+    public long getCount(ItemStatus status) {
+        return counts.getOrDefault(status, 0L);
+    }
+
+    /**
+     * Get the count over all statuses.
+     * @return number of items in this bucket
+     */
+    public long getTotal() {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    // Getters and Setters
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public Map<ItemStatus, Long> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<ItemStatus, Long> counts) {
+        this.counts = counts;
+    }
+}
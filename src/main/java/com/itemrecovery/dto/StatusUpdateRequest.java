@@ -0,0 +1,30 @@
+package com.itemrecovery.dto;
+
+import com.itemrecovery.model.ItemStatus;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Data Transfer Object for API requests changing an item's status.
+ */
+public class StatusUpdateRequest {
+    
+    @NotNull(message = "Status is required")
+    private ItemStatus status;
+
+    // Constructors
+    public StatusUpdateRequest() {
+    }
+
+    public StatusUpdateRequest(ItemStatus status) {
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public ItemStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ItemStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,22 @@
+package com.itemrecovery.event;
+
+import com.itemrecovery.dto.ItemResponse;
+
+/**
+ * Application event published when a user reports a found item.
+ * Carries a snapshot of the item so listeners running after the commit
+ * do not need to load it again.
+ */
+public class FoundItemReportedEvent {
+    
+    private final ItemResponse item;
+
+    public FoundItemReportedEvent(ItemResponse item) {
+        this.item = item;
+    }
+
+    // Getters
+    public ItemResponse getItem() {
+        return item;
+    }
+}
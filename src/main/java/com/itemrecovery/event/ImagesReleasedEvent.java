@@ -0,0 +1,20 @@
+package com.itemrecovery.event;
+
+import java.util.List;
+
+/**
+ * Application event published when items referencing uploaded images are deleted.
+ * The image files are removed in the background once the deleting transaction commits.
+ */
+public class ImagesReleasedEvent {
+    
+    private final List<String> imagePaths;
+
+    public ImagesReleasedEvent(List<String> imagePaths) {
+        this.imagePaths = imagePaths;
+    }
+
+    public List<String> getImagePaths() {
+        return imagePaths;
+    }
+}
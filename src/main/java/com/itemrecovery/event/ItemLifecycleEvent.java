@@ -0,0 +1,128 @@
+package com.itemrecovery.event;
+
+import com.itemrecovery.model.FoundItem;
+import com.itemrecovery.model.ItemStatus;
+import com.itemrecovery.model.LostItem;
+
+import java.time.LocalDate;
+
+/**
+ * Application event published when a lost or found item is created,
+ * changes status, or is deleted.
+ * Listeners that maintain derived state (counters, indexes) react to it
+ * after the publishing transaction commits.
+ */
+public class ItemLifecycleEvent {
+    
+    /**
+     * Kind of lifecycle change.
+     */
+    public enum Kind {
+        CREATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    private final Kind kind;
+    private final String itemType; // "LOST" or "FOUND"
+    private final Long itemId;
+    private final ItemStatus previousStatus;
+    private final ItemStatus status;
+    private final LocalDate date;
+    private final String location;
+    private final String name;
+    private final String description;
+
+    public ItemLifecycleEvent(Kind kind, String itemType, Long itemId, ItemStatus previousStatus,
+                              ItemStatus status, LocalDate date, String location,
+                              String name, String description) {
+        this.kind = kind;
+        this.itemType = itemType;
+        this.itemId = itemId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.date = date;
+        this.location = location;
+        this.name = name;
+        this.description = description;
+    }
+
+    public static ItemLifecycleEvent created(LostItem item) {
+        return new ItemLifecycleEvent(Kind.CREATED, "LOST", item.getId(), null,
+                item.getStatus(), item.getDate(), item.getLocation(),
+                item.getName(), item.getDescription());
+    }
+
+    public static ItemLifecycleEvent created(FoundItem item) {
+        return new ItemLifecycleEvent(Kind.CREATED, "FOUND", item.getId(), null,
+                item.getStatus(), item.getDate(), item.getLocation(),
+                item.getName(), item.getDescription());
+    }
+
+    public static ItemLifecycleEvent statusChanged(LostItem item, ItemStatus previousStatus) {
+        return new ItemLifecycleEvent(Kind.STATUS_CHANGED, "LOST", item.getId(), previousStatus,
+                item.getStatus(), item.getDate(), item.getLocation(),
+                item.getName(), item.getDescription());
+    }
+
+    public static ItemLifecycleEvent statusChanged(FoundItem item, ItemStatus previousStatus) {
+        return new ItemLifecycleEvent(Kind.STATUS_CHANGED, "FOUND", item.getId(), previousStatus,
+                item.getStatus(), item.getDate(), item.getLocation(),
+                item.getName(), item.getDescription());
+    }
+
+    public static ItemLifecycleEvent deleted(LostItem item) {
+        return new ItemLifecycleEvent(Kind.DELETED, "LOST", item.getId(), item.getStatus(),
+                null, item.getDate(), item.getLocation(),
+                item.getName(), item.getDescription());
+    }
+
+    public static ItemLifecycleEvent deleted(FoundItem item) {
+        return new ItemLifecycleEvent(Kind.DELETED, "FOUND", item.getId(), item.getStatus(),
+                null, item.getDate(), item.getLocation(),
+                item.getName(), item.getDescription());
+    }
+
+    // Getters
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getItemType() {
+        return itemType;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    /**
+     * Status before the change (null for CREATED).
+     */
+    public ItemStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    /**
+     * Status after the change (null for DELETED).
+     */
+    public ItemStatus getStatus() {
+        return status;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,29 @@
+package com.itemrecovery.event;
+
+import java.util.List;
+
+/**
+ * Application event published when a batch of items is moved into the archive.
+ * Archived items leave the hot tables without a DELETED lifecycle event, since they
+ * still count towards the status statistics; listeners that only cover the hot
+ * tables use this event to drop them.
+ */
+public class ItemsArchivedEvent {
+    
+    private final String itemType; // "LOST" or "FOUND"
+    private final List<Long> itemIds;
+
+    public ItemsArchivedEvent(String itemType, List<Long> itemIds) {
+        this.itemType = itemType;
+        this.itemIds = List.copyOf(itemIds);
+    }
+
+    // Getters
+    public String getItemType() {
+        return itemType;
+    }
+
+    public List<Long> getItemIds() {
+        return itemIds;
+    }
+}
@@ -1,8 +1,11 @@
 package com.itemrecovery.exception;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 
 /**
  * Global exception handler for the application.
@@ -23,6 +26,20 @@ public class GlobalExceptionHandler {
         return "error";
     }
     
+    @ExceptionHandler(ItemConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String handleItemConflictException(ItemConflictException e, Model model) {
+        model.addAttribute("error", e.getMessage());
+        return "error";
+    }
+    
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e, Model model) {
+        model.addAttribute("error", "The item was changed by someone else; please reload and try again");
+        return "error";
+    }
+    
     @ExceptionHandler(Exception.class)
     public String handleException(Exception e, Model model) {
         model.addAttribute("error", "An unexpected error occurred: " + e.getMessage());
@@ -0,0 +1,16 @@
+package com.itemrecovery.exception;
+
+/**
+ * Exception thrown when an item cannot be changed because another request
+ * changed it first (for example, the item was already matched).
+ */
+public class ItemConflictException extends RuntimeException {
+    
+    public ItemConflictException(String message) {
+        super(message);
+    }
+    
+    public ItemConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
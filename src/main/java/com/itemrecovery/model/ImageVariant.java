@@ -0,0 +1,52 @@
+package com.itemrecovery.model;
+
+/**
+ * Enum representing the resized variants generated for every uploaded image.
+ * THUMBNAIL: Small image shown on item cards
+ * PREVIEW: Medium image shown when a card image is opened
+ * Variants are stored next to the original as JPEG files named
+ * {@code <original name>_<suffix>.jpg}.
+ */
+public enum ImageVariant {
+    THUMBNAIL("thumb", 320),
+    PREVIEW("medium", 1024);
+
+    private final String suffix;
+    private final int maxSize;
+
+    ImageVariant(String suffix, int maxSize) {
+        this.suffix = suffix;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the suffix appended to the original's name.
+     * @return the suffix, without the separating underscore
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * Get the longest edge of this variant in pixels.
+     * @return maximum width and height
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Derive the path of this variant from the original image path.
+     * @param imagePath the original image path
+     * @return the variant path, or null if the image path is null
+     */
+    public String pathFor(String imagePath) {
+        if (imagePath == null || imagePath.isEmpty()) {
+            return null;
+        }
+        int slash = imagePath.lastIndexOf('/');
+        int dot = imagePath.lastIndexOf('.');
+        String base = dot > slash ? imagePath.substring(0, dot) : imagePath;
+        return base + "_" + suffix + ".jpg";
+    }
+}
@@ -1,5 +1,7 @@
 package com.itemrecovery.model;
 
+import java.util.List;
+
 /**
  * Enum representing the status of lost or found items.
  * LOST: Item has been reported as lost
@@ -11,5 +13,21 @@ public enum ItemStatus {
     LOST,
     FOUND,
     MATCHED,
-    RECOVERED
+    RECOVERED;
+
+    /**
+     * Check whether an item with this status is still open, i.e. waiting to be matched.
+     * @return true for LOST and FOUND
+     */
+    public boolean isOpen() {
+        return this == LOST || this == FOUND;
+    }
+
+    /**
+     * Get the statuses of items that are still open.
+     * @return LOST and FOUND
+     */
+    public static List<ItemStatus> openStatuses() {
+        return List.of(LOST, FOUND);
+    }
 }
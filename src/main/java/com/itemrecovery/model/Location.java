@@ -0,0 +1,90 @@
+package com.itemrecovery.model;
+
+import jakarta.persistence.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Location entity representing a canonical place in the gazetteer.
+ * Locations form a containment hierarchy (campus, building, floor, room). Free-text
+ * item locations are resolved against the names and aliases of these locations.
+ */
+@Entity
+@Table(name = "locations",
+       uniqueConstraints = @UniqueConstraint(name = "uk_locations_parent_name", columnNames = {"parent_id", "name"}))
+public class Location {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private LocationLevel level;
+
+    // Containing location, null for the top of the hierarchy
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    private Location parent;
+
+    // Other names the location is known by, e.g. "Main Lib" for "Library"
+    @ElementCollection
+    @CollectionTable(name = "location_aliases", joinColumns = @JoinColumn(name = "location_id"))
+    @Column(name = "alias", nullable = false, length = 100)
+    private Set<String> aliases = new HashSet<>();
+
+    // Constructors
+    public Location() {
+    }
+
+    public Location(String name, LocationLevel level, Location parent) {
+        this.name = name;
+        this.level = level;
+        this.parent = parent;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocationLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(LocationLevel level) {
+        this.level = level;
+    }
+
+    public Location getParent() {
+        return parent;
+    }
+
+    public void setParent(Location parent) {
+        this.parent = parent;
+    }
+
+    public Set<String> getAliases() {
+        return aliases;
+    }
+
+    public void setAliases(Set<String> aliases) {
+        this.aliases = aliases;
+    }
+}
@@ -0,0 +1,16 @@
+package com.itemrecovery.model;
+
+/**
+ * Enum representing the level of a gazetteer location, outermost first.
+ * Each location's parent is at a higher level (smaller ordinal).
+ * CAMPUS: A site made up of buildings
+ * BUILDING: A building on a campus
+ * FLOOR: A floor of a building
+ * ROOM: A room, hall or other area on a floor
+ */
+public enum LocationLevel {
+    CAMPUS,
+    BUILDING,
+    FLOOR,
+    ROOM
+}
@@ -3,15 +3,22 @@ package com.itemrecovery.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * LostItem entity representing items reported as lost by users.
  * Contains item details, location, date, contact info, and image path.
  */
 @Entity
-@Table(name = "lost_items")
+@Table(name = "lost_items", indexes = {
+    @Index(name = "idx_lost_items_date_id", columnList = "date, id"),
+    @Index(name = "idx_lost_items_status_date", columnList = "status, date"),
+    @Index(name = "idx_lost_items_status_changed", columnList = "status, status_changed_at"),
+    @Index(name = "idx_lost_items_building_status", columnList = "building_id, status")
+})
 public class LostItem {
     
     @Id
@@ -34,6 +41,14 @@ public class LostItem {
     @Column(nullable = false)
     private String location;
 
+    // Gazetteer location the free-text location resolved to, null if it did not resolve
+    @Column(name = "location_id")
+    private Long locationId;
+
+    // Building containing that location, null if unresolved or coarser than a building
+    @Column(name = "building_id")
+    private Long buildingId;
+
     @NotBlank(message = "Contact details are required")
     @Column(nullable = false)
     private String contact;
@@ -45,6 +60,16 @@ public class LostItem {
     @Column(nullable = false)
     private ItemStatus status = ItemStatus.LOST;
 
+    // When the status was last set; null for rows reported before this was recorded
+    @Column(name = "status_changed_at")
+    private LocalDateTime statusChangedAt;
+
+    // Optimistic lock; incremented on every update, including conditional status transitions
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // Foreign key relationship to User
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -104,6 +129,22 @@ public class LostItem {
         this.location = location;
     }
 
+    public Long getLocationId() {
+        return locationId;
+    }
+
+    public void setLocationId(Long locationId) {
+        this.locationId = locationId;
+    }
+
+    public Long getBuildingId() {
+        return buildingId;
+    }
+
+    public void setBuildingId(Long buildingId) {
+        this.buildingId = buildingId;
+    }
+
     public String getContact() {
         return contact;
     }
@@ -128,6 +169,22 @@ public class LostItem {
         this.status = status;
     }
 
+    public LocalDateTime getStatusChangedAt() {
+        return statusChangedAt;
+    }
+
+    public void setStatusChangedAt(LocalDateTime statusChangedAt) {
+        this.statusChangedAt = statusChangedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public User getUser() {
         return user;
     }
@@ -0,0 +1,116 @@
+package com.itemrecovery.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification entity representing a message in a user's in-app inbox.
+ * Created by the outbox dispatcher; the idempotency key of the outbox message
+ * is unique here too, so a retried delivery never shows the same message twice.
+ */
+@Entity
+@Table(name = "notifications",
+       uniqueConstraints = @UniqueConstraint(name = "uk_notifications_idempotency_key",
+                                             columnNames = "idempotency_key"),
+       indexes = @Index(name = "idx_notifications_user_created_at", columnList = "user_id, created_at"))
+public class Notification {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    // Foreign key relationship to User
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Null until the user marks the notification as read
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+
+    // Constructors
+    public Notification() {
+    }
+
+    public Notification(String idempotencyKey, User user, String subject, String body) {
+        this.idempotencyKey = idempotencyKey;
+        this.user = user;
+        this.subject = subject;
+        this.body = body;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getReadAt() {
+        return readAt;
+    }
+
+    public void setReadAt(LocalDateTime readAt) {
+        this.readAt = readAt;
+    }
+
+    public boolean isRead() {
+        return readAt != null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.itemrecovery.model;
+
+/**
+ * Enum representing the delivery state of an outbox message.
+ * PENDING: Waiting to be delivered, possibly after earlier failed attempts
+ * SENT: Delivered to every channel
+ * FAILED: Gave up after the maximum number of attempts
+ */
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
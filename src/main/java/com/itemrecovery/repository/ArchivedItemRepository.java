@@ -0,0 +1,70 @@
+package com.itemrecovery.repository;
+
+import com.itemrecovery.model.ArchivedItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for ArchivedItem entity.
+ * Provides the archive read path and the set-based copy used by the archival job.
+ */
+@Repository
+public interface ArchivedItemRepository extends JpaRepository<ArchivedItem, Long> {
+    
+    /**
+     * Find archived items, with their reporting user.
+     * @param pageable the page request
+     * @return page of archived items
+     */
+    @EntityGraph(attributePaths = "user")
+    Page<ArchivedItem> findAllBy(Pageable pageable);
+    
+    /**
+     * Find archived items of one type, with their reporting user.
+     * @param itemType "LOST" or "FOUND"
+     * @param pageable the page request
+     * @return page of archived items of that type
+     */
+    @EntityGraph(attributePaths = "user")
+    Page<ArchivedItem> findByItemType(String itemType, Pageable pageable);
+    
+    /**
+     * Copy lost items into the archive in one statement.
+     * @param ids IDs of the lost items to copy
+     * @return number of rows copied
+     */
+    @Modifying
+    @Query(value = "INSERT INTO archived_items (item_type, original_id, name, description, date, location, "
+            + "contact, image_path, status, user_id, archived_at) "
+            + "SELECT 'LOST', id, name, description, date, location, contact, image_path, status, user_id, now() "
+            + "FROM lost_items WHERE id IN (:ids)", nativeQuery = true)
+    int copyLostItems(@Param("ids") List<Long> ids);
+    
+    /**
+     * Copy found items into the archive in one statement.
+     * @param ids IDs of the found items to copy
+     * @return number of rows copied
+     */
+    @Modifying
+    @Query(value = "INSERT INTO archived_items (item_type, original_id, name, description, date, location, "
+            + "contact, image_path, status, user_id, archived_at) "
+            + "SELECT 'FOUND', id, name, description, date, location, contact, image_path, status, user_id, now() "
+            + "FROM found_items WHERE id IN (:ids)", nativeQuery = true)
+    int copyFoundItems(@Param("ids") List<Long> ids);
+    
+    /**
+     * Count archived items grouped by status, date and location.
+     * Used to reconcile the in-memory status counters.
+     * @return rows of [status, date, location, count]
+     */
+    @Query("select a.status, a.date, a.location, count(a) from ArchivedItem a group by a.status, a.date, a.location")
+    List<Object[]> countByStatusDateAndLocation();
+}
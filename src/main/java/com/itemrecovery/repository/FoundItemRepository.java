@@ -3,10 +3,23 @@ package com.itemrecovery.repository;
 import com.itemrecovery.model.FoundItem;
 import com.itemrecovery.model.ItemStatus;
 import com.itemrecovery.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for FoundItem entity.
@@ -36,4 +49,98 @@ public interface FoundItemRepository extends JpaRepository<FoundItem, Long> {
      * @return list of found items for the user with the specified status
      */
     List<FoundItem> findByUserAndStatus(User user, ItemStatus status);
+    
+    /**
+     * Find all found items whose status is one of the given statuses
+     * @param statuses the statuses to filter by
+     * @return list of found items with one of the statuses
+     */
+    List<FoundItem> findByStatusIn(Collection<ItemStatus> statuses);
+    
+    /**
+     * Find found items with one of the given statuses that are in a building or whose
+     * building is unknown. Served by the (building_id, status) index for the building part.
+     * @param statuses the statuses to filter by
+     * @param buildingId the gazetteer building ID
+     * @return list of matching found items
+     */
+    @Query("select f from FoundItem f where f.status in :statuses "
+            + "and (f.buildingId = :buildingId or f.buildingId is null)")
+    List<FoundItem> findByStatusInAndBuildingIdOrUnknown(@Param("statuses") Collection<ItemStatus> statuses,
+                                                          @Param("buildingId") Long buildingId);
+    
+    /**
+     * Change the status of a found item only if it still has the expected status.
+     * The check and the write happen in one statement, so concurrent transitions
+     * of the same item cannot both succeed.
+     * @param id the item ID
+     * @param expected the status the item must currently have
+     * @param status the new status
+     * @param changedAt the time of the transition
+     * @return 1 if the item was updated, 0 if it no longer had the expected status
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update FoundItem f set f.status = :status, f.statusChangedAt = :changedAt, f.version = f.version + 1 "
+            + "where f.id = :id and f.status = :expected")
+    int compareAndSetStatus(@Param("id") Long id, @Param("expected") ItemStatus expected,
+                            @Param("status") ItemStatus status, @Param("changedAt") LocalDateTime changedAt);
+    
+    /**
+     * Find found items by ID and lock their rows until the transaction ends.
+     * Used by bulk actions to read the current state of the items they change.
+     * @param ids the item IDs
+     * @return the existing items among the IDs
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select f from FoundItem f where f.id in :ids")
+    List<FoundItem> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Set the status of many found items in one statement.
+     * @param ids the item IDs
+     * @param status the new status
+     * @param changedAt the time of the transition
+     * @return number of rows updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update FoundItem f set f.status = :status, f.statusChangedAt = :changedAt, f.version = f.version + 1 "
+            + "where f.id in :ids and f.status <> :status")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") ItemStatus status,
+                           @Param("changedAt") LocalDateTime changedAt);
+    
+    /**
+     * Find IDs of found items ready to be archived: items recovered before the
+     * recovered cutoff, and any item dated before the stale cutoff.
+     * Items recovered before status changes were timestamped only match the stale cutoff.
+     * @param recoveredBefore cutoff time for the transition to recovered
+     * @param staleBefore cutoff date for all items
+     * @param pageable limits the batch size
+     * @return IDs in ascending order
+     */
+    @Query("select f.id from FoundItem f where (f.status = com.itemrecovery.model.ItemStatus.RECOVERED "
+            + "and f.statusChangedAt < :recoveredBefore) or f.date < :staleBefore order by f.id")
+    List<Long> findIdsToArchive(@Param("recoveredBefore") LocalDateTime recoveredBefore,
+                                @Param("staleBefore") LocalDate staleBefore,
+                                Pageable pageable);
+    
+    /**
+     * Stream all found items with their reporting user, ordered by ID.
+     * Rows are fetched from a server-side cursor in blocks, so callers must
+     * consume the stream inside a transaction and close it.
+     * @return stream of all found items
+     */
+    @Query("select f from FoundItem f join fetch f.user order by f.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<FoundItem> streamAllWithUser();
+    
+    /**
+     * Count found items grouped by status, date and location.
+     * Used to reconcile the in-memory status counters.
+     * @return rows of [status, date, location, count]
+     */
+    @Query("select f.status, f.date, f.location, count(f) from FoundItem f group by f.status, f.date, f.location")
+    List<Object[]> countByStatusDateAndLocation();
 }
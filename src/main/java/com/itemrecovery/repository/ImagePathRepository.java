@@ -0,0 +1,101 @@
+package com.itemrecovery.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository for image paths across every table that stores them:
+ * lost_items, found_items, archived_items and stored_images.
+ */
+@Repository
+public class ImagePathRepository {
+
+    // Paths whose two parent directories repeat the first four characters of the file name
+    private static final String SHARDED_PATTERN = "'/([^/]{2})/([^/]{2})/\\1\\2[^/]*$'";
+
+    private static final String ALL_PATHS =
+            "SELECT image_path FROM lost_items WHERE image_path IS NOT NULL" +
+            " UNION SELECT image_path FROM found_items WHERE image_path IS NOT NULL" +
+            " UNION SELECT image_path FROM archived_items WHERE image_path IS NOT NULL" +
+            " UNION SELECT path FROM stored_images";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Find distinct referenced paths in a range, in byte order.
+     * Paths are compared bytewise whatever the database collation, so a range from a
+     * prefix to the prefix followed by "/" holds exactly the paths sharing that prefix
+     * up to the next directory separator.
+     * @param from inclusive lower bound
+     * @param to exclusive upper bound
+     * @param after the last path of the previous batch, or an empty string for the first
+     * @param limit maximum number of paths to return
+     * @return paths in the range sorting after the given one
+     */
+    public List<String> findReferencedPaths(String from, String to, String after, int limit) {
+        String sql = "SELECT image_path FROM (" + ALL_PATHS + ") p" +
+                " WHERE image_path >= :from COLLATE \"C\" AND image_path < :to COLLATE \"C\"" +
+                " AND image_path > :after COLLATE \"C\"" +
+                " ORDER BY image_path COLLATE \"C\" LIMIT :limit";
+        MapSqlParameterSource params = new MapSqlParameterSource("from", from)
+                .addValue("to", to)
+                .addValue("after", after)
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForList(sql, params, String.class);
+    }
+
+    /**
+     * Find distinct paths still in the flat layout, in path order.
+     * @param after the last path of the previous batch, or an empty string for the first
+     * @param limit maximum number of paths to return
+     * @return flat paths sorting after the given one
+     */
+    public List<String> findUnshardedPaths(String after, int limit) {
+        String sql = "SELECT image_path FROM (" + ALL_PATHS + ") p" +
+                " WHERE image_path !~ " + SHARDED_PATTERN + " AND image_path > :after" +
+                " ORDER BY image_path LIMIT :limit";
+        MapSqlParameterSource params = new MapSqlParameterSource("after", after).addValue("limit", limit);
+        return jdbcTemplate.queryForList(sql, params, String.class);
+    }
+
+    /**
+     * Rewrite image paths in every table, one set-based UPDATE per table.
+     * Item versions are bumped so a concurrent edit of a stale copy fails instead of
+     * writing the old path back.
+     * @param rewrites old path to new path
+     * @return number of rows updated
+     */
+    public int rewritePaths(Map<String, String> rewrites) {
+        if (rewrites.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> rows = new ArrayList<>();
+        int i = 0;
+        for (Map.Entry<String, String> rewrite : rewrites.entrySet()) {
+            params.addValue("old" + i, rewrite.getKey());
+            params.addValue("new" + i, rewrite.getValue());
+            rows.add("(:old" + i + ", :new" + i + ")");
+            i++;
+        }
+        String mapping = " FROM (VALUES " + String.join(", ", rows) + ") AS m(old_path, new_path)";
+
+        int updated = 0;
+        updated += jdbcTemplate.update("UPDATE lost_items t SET image_path = m.new_path, version = t.version + 1"
+                + mapping + " WHERE t.image_path = m.old_path", params);
+        updated += jdbcTemplate.update("UPDATE found_items t SET image_path = m.new_path, version = t.version + 1"
+                + mapping + " WHERE t.image_path = m.old_path", params);
+        updated += jdbcTemplate.update("UPDATE archived_items t SET image_path = m.new_path"
+                + mapping + " WHERE t.image_path = m.old_path", params);
+        updated += jdbcTemplate.update("UPDATE stored_images t SET path = m.new_path"
+                + mapping + " WHERE t.path = m.old_path", params);
+        return updated;
+    }
+}
@@ -0,0 +1,151 @@
+package com.itemrecovery.repository;
+
+import com.itemrecovery.dto.ItemFeedCursor;
+import com.itemrecovery.dto.ItemResponse;
+import com.itemrecovery.model.ItemStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Repository for the unified lost and found item feed.
+ * Reads both item tables in a single UNION ALL query, newest first,
+ * using keyset pagination on (date, item type, ID).
+ */
+@Repository
+public class ItemFeedRepository {
+    
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Find one page of the feed.
+     * Each branch of the union is limited on its own (served by the date/ID index)
+     * before the merged result is sorted and limited again.
+     * @param itemType "LOST", "FOUND", or null for both
+     * @param status the status to filter by, or null for any
+     * @param location case-insensitive location substring, or null for any
+     * @param after cursor of the previous page's last item, or null for the first page
+     * @param limit maximum number of items to return
+     * @return items ordered by date, item type and ID, all descending
+     */
+    public List<ItemResponse> findPage(String itemType, ItemStatus status, String location,
+                                       ItemFeedCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+        if (status != null) {
+            params.addValue("status", status.name());
+        }
+        if (location != null) {
+            params.addValue("location", "%" + escapeLike(location.toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (after != null) {
+            params.addValue("afterDate", after.getDate());
+            params.addValue("afterId", after.getId());
+        }
+
+        List<String> branches = new ArrayList<>();
+        if (itemType == null || "LOST".equals(itemType)) {
+            branches.add(branch("lost_items", "LOST", status, location, after));
+        }
+        if (itemType == null || "FOUND".equals(itemType)) {
+            branches.add(branch("found_items", "FOUND", status, location, after));
+        }
+
+        String sql = "(" + String.join(") UNION ALL (", branches) + ")"
+                + " ORDER BY date DESC, item_type DESC, id DESC LIMIT :limit";
+        return jdbcTemplate.query(sql, params, ItemFeedRepository::mapItem);
+    }
+
+    /**
+     * Find lost and found items by ID.
+     * @param lostIds IDs of lost items
+     * @param foundIds IDs of found items
+     * @return the items that still exist, in no particular order
+     */
+    public List<ItemResponse> findByIds(Collection<Long> lostIds, Collection<Long> foundIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> branches = new ArrayList<>();
+        if (!lostIds.isEmpty()) {
+            params.addValue("lostIds", lostIds);
+            branches.add(select("lost_items", "LOST") + " WHERE i.id IN (:lostIds)");
+        }
+        if (!foundIds.isEmpty()) {
+            params.addValue("foundIds", foundIds);
+            branches.add(select("found_items", "FOUND") + " WHERE i.id IN (:foundIds)");
+        }
+        if (branches.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(String.join(" UNION ALL ", branches), params, ItemFeedRepository::mapItem);
+    }
+
+    /**
+     * Build the SELECT for one item table.
+     * @param table the item table
+     * @param itemType the item type constant for rows of this table
+     * @param status the status filter, or null
+     * @param location the location filter, or null
+     * @param after the keyset cursor, or null
+     * @return the SQL for this branch of the union
+     */
+    private String branch(String table, String itemType, ItemStatus status, String location,
+                          ItemFeedCursor after) {
+        StringBuilder sql = new StringBuilder(select(table, itemType)).append(" WHERE 1 = 1");
+        if (status != null) {
+            sql.append(" AND i.status = :status");
+        }
+        if (location != null) {
+            sql.append(" AND LOWER(i.location) LIKE :location");
+        }
+        if (after != null) {
+            // The item type is constant per branch, so the tie-break on it is resolved here
+            int typeOrder = itemType.compareTo(after.getItemType());
+            String sameDate = typeOrder < 0 ? "TRUE" : typeOrder == 0 ? "i.id < :afterId" : "FALSE";
+            sql.append(" AND (i.date < :afterDate OR (i.date = :afterDate AND ").append(sameDate).append("))");
+        }
+        sql.append(" ORDER BY i.date DESC, i.id DESC LIMIT :limit");
+        return sql.toString();
+    }
+
+    /**
+     * Build the SELECT and FROM clauses shared by all item queries.
+     * @param table the item table
+     * @param itemType the item type constant for rows of this table
+     * @return the SQL without a WHERE clause
+     */
+    private static String select(String table, String itemType) {
+        return "SELECT '" + itemType + "' AS item_type, i.id, i.name, i.description,"
+                + " i.date, i.location, i.contact, i.image_path, i.status, i.version, i.user_id, u.username"
+                + " FROM " + table + " i JOIN users u ON u.id = i.user_id";
+    }
+
+    private static ItemResponse mapItem(ResultSet rs, int rowNum) throws SQLException {
+        ItemResponse response = new ItemResponse();
+        response.setId(rs.getLong("id"));
+        response.setName(rs.getString("name"));
+        response.setDescription(rs.getString("description"));
+        response.setDate(rs.getObject("date", LocalDate.class));
+        response.setLocation(rs.getString("location"));
+        response.setContact(rs.getString("contact"));
+        response.setImagePath(rs.getString("image_path"));
+        response.setStatus(ItemStatus.valueOf(rs.getString("status")));
+        response.setUsername(rs.getString("username"));
+        response.setUserId(rs.getLong("user_id"));
+        response.setItemType(rs.getString("item_type"));
+        response.setVersion(rs.getLong("version"));
+        return response;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,66 @@
+package com.itemrecovery.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository that reads and writes the gazetteer locations items resolved to.
+ * Used to backfill items reported before their location was in the gazetteer,
+ * in ID order with keyset pagination.
+ */
+@Repository
+public class ItemLocationRepository {
+    
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Find the next batch of items of one type that have no gazetteer location.
+     * @param itemType "LOST" or "FOUND"
+     * @param afterId ID of the last item of the previous batch, or 0 for the first batch
+     * @param limit maximum number of items to return
+     * @return free-text locations by item ID, in ID order
+     */
+    public Map<Long, String> findUnresolved(String itemType, long afterId, int limit) {
+        String sql = "SELECT id, location FROM " + table(itemType)
+                + " WHERE location_id IS NULL AND id > :afterId ORDER BY id LIMIT :limit";
+        MapSqlParameterSource params = new MapSqlParameterSource("afterId", afterId).addValue("limit", limit);
+        Map<Long, String> locations = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, params, rs -> {
+            locations.put(rs.getLong("id"), rs.getString("location"));
+        });
+        return locations;
+    }
+
+    /**
+     * Set the gazetteer location of items that still have none.
+     * Versions are bumped so saving an item loaded before the backfill fails instead of
+     * clearing the location again.
+     * @param itemType "LOST" or "FOUND"
+     * @param rows parameters with "id", "locationId" and "buildingId"
+     * @return number of items updated
+     */
+    public int updateResolved(String itemType, List<SqlParameterSource> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        String sql = "UPDATE " + table(itemType) + " SET location_id = :locationId, building_id = :buildingId,"
+                + " version = version + 1 WHERE id = :id AND location_id IS NULL";
+        int updated = 0;
+        for (int count : jdbcTemplate.batchUpdate(sql, rows.toArray(new SqlParameterSource[0]))) {
+            updated += Math.max(count, 0);
+        }
+        return updated;
+    }
+
+    private static String table(String itemType) {
+        return "LOST".equals(itemType) ? "lost_items" : "found_items";
+    }
+}
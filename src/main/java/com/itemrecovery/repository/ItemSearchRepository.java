@@ -0,0 +1,55 @@
+package com.itemrecovery.repository;
+
+import com.itemrecovery.event.ItemLifecycleEvent;
+import com.itemrecovery.model.ItemStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Repository that reads the item data the in-memory search index and location
+ * autocomplete are built from. Items are read in ID order with keyset pagination,
+ * so a full load never holds more than one batch in memory.
+ */
+@Repository
+public class ItemSearchRepository {
+    
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Find the next batch of items of one type, as CREATED lifecycle events.
+     * @param itemType "LOST" or "FOUND"
+     * @param afterId ID of the last item of the previous batch, or 0 for the first batch
+     * @param limit maximum number of items to return
+     * @return items ordered by ID
+     */
+    public List<ItemLifecycleEvent> findIndexBatch(String itemType, long afterId, int limit) {
+        String table = "LOST".equals(itemType) ? "lost_items" : "found_items";
+        String sql = "SELECT id, name, description, date, location, status FROM " + table
+                + " WHERE id > :afterId ORDER BY id LIMIT :limit";
+        MapSqlParameterSource params = new MapSqlParameterSource("afterId", afterId).addValue("limit", limit);
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new ItemLifecycleEvent(
+                ItemLifecycleEvent.Kind.CREATED, itemType, rs.getLong("id"), null,
+                ItemStatus.valueOf(rs.getString("status")), rs.getObject("date", LocalDate.class),
+                rs.getString("location"), rs.getString("name"), rs.getString("description")));
+    }
+
+    /**
+     * Count reports per location as entered, over current and archived items.
+     * @param handler receives each location and its report count
+     */
+    public void forEachLocationCount(BiConsumer<String, Long> handler) {
+        String sql = "SELECT location, COUNT(*) AS reports FROM ("
+                + "SELECT location FROM lost_items UNION ALL SELECT location FROM found_items"
+                + " UNION ALL SELECT location FROM archived_items) l GROUP BY location";
+        jdbcTemplate.query(sql, rs -> {
+            handler.accept(rs.getString("location"), rs.getLong("reports"));
+        });
+    }
+}
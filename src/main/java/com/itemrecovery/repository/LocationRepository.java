@@ -0,0 +1,26 @@
+package com.itemrecovery.repository;
+
+import com.itemrecovery.model.Location;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for Location entity.
+ * Provides the gazetteer of canonical locations.
+ */
+@Repository
+public interface LocationRepository extends JpaRepository<Location, Long> {
+
+    /**
+     * Find all locations with their aliases in one query.
+     * Parents are only referenced by ID, so they are not fetched.
+     * @return all locations
+     */
+    @EntityGraph(attributePaths = "aliases")
+    @Query("select distinct l from Location l")
+    List<Location> findAllWithAliases();
+}
@@ -3,10 +3,23 @@ package com.itemrecovery.repository;
 import com.itemrecovery.model.ItemStatus;
 import com.itemrecovery.model.LostItem;
 import com.itemrecovery.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for LostItem entity.
@@ -36,4 +49,98 @@ public interface LostItemRepository extends JpaRepository<LostItem, Long> {
      * @return list of lost items for the user with the specified status
      */
     List<LostItem> findByUserAndStatus(User user, ItemStatus status);
+    
+    /**
+     * Find all lost items whose status is one of the given statuses
+     * @param statuses the statuses to filter by
+     * @return list of lost items with one of the statuses
+     */
+    List<LostItem> findByStatusIn(Collection<ItemStatus> statuses);
+    
+    /**
+     * Find lost items with one of the given statuses that are in a building or whose
+     * building is unknown. Served by the (building_id, status) index for the building part.
+     * @param statuses the statuses to filter by
+     * @param buildingId the gazetteer building ID
+     * @return list of matching lost items
+     */
+    @Query("select l from LostItem l where l.status in :statuses "
+            + "and (l.buildingId = :buildingId or l.buildingId is null)")
+    List<LostItem> findByStatusInAndBuildingIdOrUnknown(@Param("statuses") Collection<ItemStatus> statuses,
+                                                          @Param("buildingId") Long buildingId);
+    
+    /**
+     * Change the status of a lost item only if it still has the expected status.
+     * The check and the write happen in one statement, so concurrent transitions
+     * of the same item cannot both succeed.
+     * @param id the item ID
+     * @param expected the status the item must currently have
+     * @param status the new status
+     * @param changedAt the time of the transition
+     * @return 1 if the item was updated, 0 if it no longer had the expected status
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update LostItem l set l.status = :status, l.statusChangedAt = :changedAt, l.version = l.version + 1 "
+            + "where l.id = :id and l.status = :expected")
+    int compareAndSetStatus(@Param("id") Long id, @Param("expected") ItemStatus expected,
+                            @Param("status") ItemStatus status, @Param("changedAt") LocalDateTime changedAt);
+    
+    /**
+     * Find lost items by ID and lock their rows until the transaction ends.
+     * Used by bulk actions to read the current state of the items they change.
+     * @param ids the item IDs
+     * @return the existing items among the IDs
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from LostItem l where l.id in :ids")
+    List<LostItem> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Set the status of many lost items in one statement.
+     * @param ids the item IDs
+     * @param status the new status
+     * @param changedAt the time of the transition
+     * @return number of rows updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update LostItem l set l.status = :status, l.statusChangedAt = :changedAt, l.version = l.version + 1 "
+            + "where l.id in :ids and l.status <> :status")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") ItemStatus status,
+                           @Param("changedAt") LocalDateTime changedAt);
+    
+    /**
+     * Find IDs of lost items ready to be archived: items recovered before the
+     * recovered cutoff, and any item dated before the stale cutoff.
+     * Items recovered before status changes were timestamped only match the stale cutoff.
+     * @param recoveredBefore cutoff time for the transition to recovered
+     * @param staleBefore cutoff date for all items
+     * @param pageable limits the batch size
+     * @return IDs in ascending order
+     */
+    @Query("select l.id from LostItem l where (l.status = com.itemrecovery.model.ItemStatus.RECOVERED "
+            + "and l.statusChangedAt < :recoveredBefore) or l.date < :staleBefore order by l.id")
+    List<Long> findIdsToArchive(@Param("recoveredBefore") LocalDateTime recoveredBefore,
+                                @Param("staleBefore") LocalDate staleBefore,
+                                Pageable pageable);
+    
+    /**
+     * Stream all lost items with their reporting user, ordered by ID.
+     * Rows are fetched from a server-side cursor in blocks, so callers must
+     * consume the stream inside a transaction and close it.
+     * @return stream of all lost items
+     */
+    @Query("select l from LostItem l join fetch l.user order by l.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<LostItem> streamAllWithUser();
+    
+    /**
+     * Count lost items grouped by status, date and location.
+     * Used to reconcile the in-memory status counters.
+     * @return rows of [status, date, location, count]
+     */
+    @Query("select l.status, l.date, l.location, count(l) from LostItem l group by l.status, l.date, l.location")
+    List<Object[]> countByStatusDateAndLocation();
 }
@@ -0,0 +1,62 @@
+package com.itemrecovery.repository;
+
+import com.itemrecovery.model.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for Notification entity.
+ * Provides the in-app inbox queries.
+ */
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    /**
+     * Add a notification unless one with the same idempotency key already exists.
+     * @param idempotencyKey the idempotency key of the outbox message
+     * @param userId ID of the recipient
+     * @param subject the subject
+     * @param body the body
+     * @return 1 if the notification was added, 0 if it was delivered before
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notifications (idempotency_key, user_id, subject, body, created_at) " +
+                   "VALUES (:idempotencyKey, :userId, :subject, :body, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (idempotency_key) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("idempotencyKey") String idempotencyKey, @Param("userId") Long userId,
+                       @Param("subject") String subject, @Param("body") String body);
+
+    /**
+     * Find a user's most recent notifications.
+     * @param userId the user ID
+     * @param pageable limits the number of notifications
+     * @return notifications, newest first
+     */
+    @Query("select n from Notification n where n.user.id = :userId order by n.createdAt desc, n.id desc")
+    List<Notification> findRecentByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Count a user's unread notifications.
+     * @param userId the user ID
+     * @return number of unread notifications
+     */
+    long countByUserIdAndReadAtIsNull(Long userId);
+
+    /**
+     * Mark all of a user's unread notifications as read.
+     * @param userId the user ID
+     * @param readAt the time they were read
+     * @return number of notifications marked
+     */
+    @Modifying
+    @Query("update Notification n set n.readAt = :readAt where n.user.id = :userId and n.readAt is null")
+    int markAllRead(@Param("userId") Long userId, @Param("readAt") LocalDateTime readAt);
+}
@@ -0,0 +1,69 @@
+package com.itemrecovery.repository;
+
+import com.itemrecovery.model.OutboxMessage;
+import com.itemrecovery.model.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for OutboxMessage entity.
+ * Messages are claimed with row locks that skip rows held by another dispatcher,
+ * so several application instances can poll the same table without double delivery.
+ */
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Add a message unless one with the same idempotency key already exists.
+     * Must run inside the transaction of the change the message announces.
+     * @param idempotencyKey the idempotency key
+     * @param userId ID of the recipient
+     * @param subject the subject
+     * @param body the body
+     * @return 1 if the message was added, 0 if it was already queued
+     */
+    @Modifying
+    @Query(value = "INSERT INTO outbox_messages (idempotency_key, user_id, subject, body, status, attempts, " +
+                   "next_attempt_at, created_at) " +
+                   "VALUES (:idempotencyKey, :userId, :subject, :body, 'PENDING', 0, " +
+                   "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (idempotency_key) DO NOTHING",
+           nativeQuery = true)
+    int enqueue(@Param("idempotencyKey") String idempotencyKey, @Param("userId") Long userId,
+                @Param("subject") String subject, @Param("body") String body);
+
+    /**
+     * Lock a batch of pending messages that are due, oldest first.
+     * Rows locked by a concurrent dispatcher are skipped rather than waited for.
+     * @param now the current time
+     * @param limit maximum number of messages
+     * @return the locked messages
+     */
+    @Query(value = "SELECT * FROM outbox_messages WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxMessage> claimDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Delete delivered messages sent before a cutoff.
+     * @param cutoff the cutoff time
+     * @return number of messages deleted
+     */
+    @Modifying
+    @Query("delete from OutboxMessage m where m.status = com.itemrecovery.model.OutboxStatus.SENT " +
+           "and m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Count messages in a status.
+     * @param status the status
+     * @return number of messages
+     */
+    long countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,62 @@
+package com.itemrecovery.repository;
+
+import com.itemrecovery.model.StoredImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for StoredImage entity.
+ * Reference counts are only changed with single conditional statements so concurrent
+ * uploads and deletes of the same content never lose an update.
+ */
+@Repository
+public interface StoredImageRepository extends JpaRepository<StoredImage, String> {
+
+    /**
+     * Find the stored image at a path.
+     * @param path the relative image path
+     * @return the stored image if the path is content-addressed
+     */
+    Optional<StoredImage> findByPath(String path);
+
+    /**
+     * Register a reference to an image, creating its row on first upload.
+     * A concurrent upload of the same content is resolved by the conflict clause.
+     * @param hash the content hash
+     * @param path the relative image path
+     * @param sizeBytes the file size
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO stored_images (hash, path, size_bytes, ref_count, created_at) " +
+                   "VALUES (:hash, :path, :sizeBytes, 1, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (hash) DO UPDATE SET ref_count = stored_images.ref_count + 1",
+           nativeQuery = true)
+    void addReference(@Param("hash") String hash, @Param("path") String path, @Param("sizeBytes") long sizeBytes);
+
+    /**
+     * Drop one reference to an image.
+     * @param path the relative image path
+     * @return number of rows updated, 0 if the path is not content-addressed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredImage s SET s.refCount = s.refCount - 1 WHERE s.path = :path AND s.refCount > 0")
+    int removeReference(@Param("path") String path);
+
+    /**
+     * Delete an image row once nothing references it.
+     * @param path the relative image path
+     * @return 1 if the row was deleted and the file may be removed
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StoredImage s WHERE s.path = :path AND s.refCount <= 0")
+    int deleteIfUnreferenced(@Param("path") String path);
+}
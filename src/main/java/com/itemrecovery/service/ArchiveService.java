@@ -0,0 +1,167 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.dto.ItemResponse;
+import com.itemrecovery.event.ItemsArchivedEvent;
+import com.itemrecovery.model.ArchivedItem;
+import com.itemrecovery.repository.ArchivedItemRepository;
+import com.itemrecovery.repository.FoundItemRepository;
+import com.itemrecovery.repository.LostItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Service for archiving closed lost and found items.
+ * A scheduled job moves recovered and long-stale items from the hot item tables
+ * into archived_items in batches; archived items are read through a separate path.
+ */
+@Service
+public class ArchiveService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ArchiveService.class);
+    
+    public static final int PAGE_SIZE = 50;
+    
+    @Autowired
+    private ArchivedItemRepository archivedItemRepository;
+    
+    @Autowired
+    private LostItemRepository lostItemRepository;
+    
+    @Autowired
+    private FoundItemRepository foundItemRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${app.archive.recovered-after:P30D}")
+    private Period recoveredAfter;
+    
+    @Value("${app.archive.stale-after:P1Y}")
+    private Period staleAfter;
+
+    /**
+     * Move closed items into the archive.
+     * Each batch is copied and deleted in its own short transaction, so the job
+     * never holds locks on many rows and can be interrupted safely.
+     */
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void archiveClosedItems() {
+        LocalDateTime recoveredBefore = LocalDateTime.now().minus(recoveredAfter);
+        LocalDate staleBefore = LocalDate.now().minus(staleAfter);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Pageable batch = PageRequest.of(0, batchSize);
+
+        long lostArchived = archiveInBatches(transactionTemplate,
+                () -> lostItemRepository.findIdsToArchive(recoveredBefore, staleBefore, batch),
+                ids -> {
+                    archivedItemRepository.copyLostItems(ids);
+                    lostItemRepository.deleteAllByIdInBatch(ids);
+                    eventPublisher.publishEvent(new ItemsArchivedEvent("LOST", ids));
+                });
+        long foundArchived = archiveInBatches(transactionTemplate,
+                () -> foundItemRepository.findIdsToArchive(recoveredBefore, staleBefore, batch),
+                ids -> {
+                    archivedItemRepository.copyFoundItems(ids);
+                    foundItemRepository.deleteAllByIdInBatch(ids);
+                    eventPublisher.publishEvent(new ItemsArchivedEvent("FOUND", ids));
+                });
+
+        if (lostArchived > 0 || foundArchived > 0) {
+            log.info("Archived {} lost and {} found items", lostArchived, foundArchived);
+        }
+    }
+
+    /**
+     * Repeatedly select a batch of IDs and move it, until a short batch shows nothing is left.
+     * @param transactionTemplate the transaction template
+     * @param nextBatch selects the next batch of IDs
+     * @param move copies the batch into the archive and deletes it from the hot table
+     * @return number of items archived
+     */
+    private long archiveInBatches(TransactionTemplate transactionTemplate, Supplier<List<Long>> nextBatch,
+                                  Consumer<List<Long>> move) {
+        long archived = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = nextBatch.get();
+                if (!ids.isEmpty()) {
+                    move.accept(ids);
+                }
+                return ids.size();
+            });
+            archived += moved;
+            if (moved < batchSize) {
+                return archived;
+            }
+        }
+    }
+
+    /**
+     * Get a page of archived items, most recently archived first.
+     * @param itemType "lost", "found", or null/blank for both
+     * @param page zero-based page number
+     * @return page of archived items
+     * @throws IllegalArgumentException if the item type is unknown
+     */
+    @Transactional(readOnly = true)
+    public Page<ItemResponse> getArchivedItems(String itemType, int page) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), PAGE_SIZE,
+                Sort.by(Sort.Direction.DESC, "archivedAt", "id"));
+        if (itemType == null || itemType.isBlank()) {
+            return archivedItemRepository.findAllBy(pageable).map(this::toItemResponse);
+        }
+        String type = itemType.trim().toUpperCase(Locale.ROOT);
+        if (!"LOST".equals(type) && !"FOUND".equals(type)) {
+            throw new IllegalArgumentException("Unknown item type: " + itemType);
+        }
+        return archivedItemRepository.findByItemType(type, pageable).map(this::toItemResponse);
+    }
+
+    /**
+     * Convert ArchivedItem to ItemResponse.
+     * The response carries the item's original ID.
+     * @param item the archived item
+     * @return ItemResponse DTO
+     */
+    public ItemResponse toItemResponse(ArchivedItem item) {
+        ItemResponse response = new ItemResponse();
+        response.setId(item.getOriginalId());
+        response.setName(item.getName());
+        response.setDescription(item.getDescription());
+        response.setDate(item.getDate());
+        response.setLocation(item.getLocation());
+        response.setContact(item.getContact());
+        response.setImagePath(item.getImagePath());
+        response.setStatus(item.getStatus());
+        response.setUsername(item.getUser().getUsername());
+        response.setUserId(item.getUser().getId());
+        response.setItemType(item.getItemType());
+        return response;
+    }
+}
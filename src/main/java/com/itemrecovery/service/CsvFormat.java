@@ -0,0 +1,97 @@
+package com.itemrecovery.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV support shared by the item import and export services.
+ * Handles quoted fields, escaped quotes and line breaks inside quotes.
+ */
+final class CsvFormat {
+
+    private CsvFormat() {
+    }
+
+    /**
+     * Read the next CSV record from the reader.
+     * A quoted field may span several physical lines.
+     * @param reader the source reader
+     * @return the record fields, or null at end of input
+     * @throws IOException if the input cannot be read or a quoted field is never closed
+     */
+    static List<String> readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            // Quoted field continues on the next line
+            line = reader.readLine();
+            if (line == null) {
+                throw new IOException("Unterminated quoted field");
+            }
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Write one CSV record followed by a line break.
+     * Fields containing commas, quotes or line breaks are quoted.
+     * @param writer the target writer
+     * @param fields the field values (null is written as an empty field)
+     * @throws IOException if the record cannot be written
+     */
+    static void writeRecord(Writer writer, Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(fields[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escape(Object field) {
+        if (field == null) {
+            return "";
+        }
+        String value = field.toString();
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,19 @@
+package com.itemrecovery.service;
+
+/**
+ * Sends notification emails on behalf of the outbox dispatcher.
+ * Implementations may be called again with the same idempotency key after a failure
+ * and should pass it on so the receiving side can drop duplicates.
+ */
+public interface EmailGateway {
+
+    /**
+     * Send a plain-text email.
+     * @param to the recipient address
+     * @param subject the subject
+     * @param body the plain-text body
+     * @param idempotencyKey identifies the notification across retries
+     * @throws RuntimeException if the email could not be handed over for delivery
+     */
+    void send(String to, String subject, String body, String idempotencyKey);
+}
@@ -0,0 +1,80 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.dto.ItemResponse;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filter a live feed subscriber applies to newly found items.
+ * Every keyword must occur in the item name or description, the location must
+ * occur in the item location, and the item date must lie within the date window.
+ * Matching is case-insensitive; a missing criterion matches everything.
+ */
+public final class FoundItemFeedFilter {
+    
+    public static final int MAX_KEYWORDS = 10;
+    
+    private final List<String> keywords;
+    private final String location;
+    private final LocalDate from;
+    private final LocalDate to;
+
+    private FoundItemFeedFilter(List<String> keywords, String location, LocalDate from, LocalDate to) {
+        this.keywords = keywords;
+        this.location = location;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Create a filter.
+     * @param keywords space-separated keywords, or null
+     * @param location location text, or null
+     * @param from earliest item date, or null
+     * @param to latest item date, or null
+     * @return the filter
+     * @throws IllegalArgumentException if there are too many keywords or the date window is empty
+     */
+    public static FoundItemFeedFilter of(String keywords, String location, LocalDate from, LocalDate to) {
+        List<String> words = keywords == null || keywords.isBlank() ? List.of()
+                : Arrays.stream(keywords.trim().toLowerCase(Locale.ROOT).split("\\s+")).distinct().toList();
+        if (words.size() > MAX_KEYWORDS) {
+            throw new IllegalArgumentException("At most " + MAX_KEYWORDS + " keywords are allowed");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("The date window ends before it starts");
+        }
+        String place = location == null || location.isBlank() ? null : location.trim().toLowerCase(Locale.ROOT);
+        return new FoundItemFeedFilter(words, place, from, to);
+    }
+
+    /**
+     * Check whether an item passes the filter.
+     * @param item the item
+     * @return true if the item matches every criterion
+     */
+    public boolean matches(ItemResponse item) {
+        if (from != null && item.getDate().isBefore(from)) {
+            return false;
+        }
+        if (to != null && item.getDate().isAfter(to)) {
+            return false;
+        }
+        if (location != null && !item.getLocation().toLowerCase(Locale.ROOT).contains(location)) {
+            return false;
+        }
+        if (keywords.isEmpty()) {
+            return true;
+        }
+        String text = (item.getName() + " " + item.getDescription()).toLowerCase(Locale.ROOT);
+        for (String keyword : keywords) {
+            if (!text.contains(keyword)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,306 @@
+package com.itemrecovery.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itemrecovery.dto.ItemResponse;
+import com.itemrecovery.event.FoundItemReportedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service for the live feed of newly reported found items.
+ * Subscribers hold a server-sent-events connection with their own filter. New items are
+ * offered to a small bounded buffer per subscriber and written by the feed executor, so
+ * the reporting thread never writes to a socket. A subscriber whose buffer overflows, or
+ * whose write blocks past the write timeout, is too slow to keep up and is disconnected;
+ * its browser reconnects on its own. A blocked write keeps its thread until the connector
+ * gives up on the socket, so the feed executor gets a replacement thread meanwhile.
+ */
+@Service
+public class FoundItemFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(FoundItemFeedService.class);
+
+    public static final String EVENT_NAME = "found-item";
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder evicted = new LongAdder();
+
+    // Feed threads blocked in writes to evicted subscribers
+    private final AtomicInteger stalledWriters = new AtomicInteger();
+
+    @Autowired
+    @Qualifier("feedExecutor")
+    private ThreadPoolTaskExecutor feedExecutor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.feed.threads:4}")
+    private int threads;
+
+    @Value("${app.feed.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    @Value("${app.feed.buffer-size:16}")
+    private int bufferSize;
+
+    @Value("${app.feed.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${app.feed.reconnect-delay:PT5S}")
+    private Duration reconnectDelay;
+
+    @Value("${app.feed.write-timeout:PT10S}")
+    private Duration writeTimeout;
+
+    /**
+     * Open a feed connection.
+     * @param filter the subscriber's filter
+     * @return the emitter to return from the controller, or null if the subscriber limit is reached
+     */
+    public SseEmitter subscribe(FoundItemFeedFilter filter) {
+        if (subscriptions.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = new Subscription(emitter, filter, bufferSize);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        subscriptions.add(subscription);
+        subscription.offer(SseEmitter.event().reconnectTime(reconnectDelay.toMillis()).comment("connected").build());
+        return emitter;
+    }
+
+    /**
+     * Push a newly reported found item to every subscriber whose filter it matches.
+     * Runs after the reporting transaction commits, so subscribers never see rolled-back items.
+     * @param event the reported event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFoundItemReported(FoundItemReportedEvent event) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        ItemResponse item = event.getItem();
+        Set<DataWithMediaType> message;
+        try {
+            message = SseEmitter.event()
+                    .id(String.valueOf(item.getId()))
+                    .name(EVENT_NAME)
+                    .data(objectMapper.writeValueAsString(item), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize found item {} for the live feed", item.getId(), e);
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            if (subscription.filter.matches(item)) {
+                subscription.offer(message);
+            }
+        }
+    }
+
+    /**
+     * Send a comment to every subscriber so idle connections stay open through proxies
+     * and dead ones are noticed.
+     */
+    @Scheduled(fixedRateString = "${app.feed.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(heartbeat);
+        }
+    }
+
+    /**
+     * Disconnect subscribers whose current write has been blocked past the write timeout,
+     * e.g. because the client stopped reading, and add a feed thread for each until its
+     * write returns, so they cannot starve the other subscribers.
+     */
+    @Scheduled(fixedRateString = "${app.feed.stall-check-interval:PT1S}")
+    public void evictStalledSubscribers() {
+        long now = System.nanoTime();
+        long timeoutNanos = writeTimeout.toNanos();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.markStalled(now, timeoutNanos)) {
+                evicted.increment();
+                log.debug("Disconnecting stalled live feed subscriber");
+                subscription.close();
+                stalledWriters.incrementAndGet();
+                resizeFeedExecutor();
+            }
+        }
+    }
+
+    /**
+     * Size the feed executor to its configured threads plus one per stalled writer,
+     * at most twice the configured threads.
+     */
+    private synchronized void resizeFeedExecutor() {
+        int size = threads + Math.min(stalledWriters.get(), threads);
+        // Core may never exceed max, so grow max first and shrink it last
+        if (size > feedExecutor.getMaxPoolSize()) {
+            feedExecutor.setMaxPoolSize(size);
+            feedExecutor.setCorePoolSize(size);
+        } else {
+            feedExecutor.setCorePoolSize(size);
+            feedExecutor.setMaxPoolSize(size);
+        }
+    }
+
+    /**
+     * Get the number of open feed connections.
+     * @return number of subscribers
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Get the number of subscribers disconnected for falling behind.
+     * @return number of evicted subscribers
+     */
+    public long getEvictedCount() {
+        return evicted.sum();
+    }
+
+    /**
+     * One feed connection.
+     * Messages are queued by any thread and written by at most one feed executor task at a time;
+     * only that task touches the emitter, so a blocked write never stalls a publisher.
+     */
+    private final class Subscription {
+
+        // writeStartedAt values besides a System.nanoTime(): no write in progress, write given up on
+        private static final long IDLE = Long.MIN_VALUE;
+        private static final long STALLED = Long.MAX_VALUE;
+
+        private final SseEmitter emitter;
+        private final FoundItemFeedFilter filter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicLong writeStartedAt = new AtomicLong(IDLE);
+        private volatile boolean closed;
+
+        Subscription(SseEmitter emitter, FoundItemFeedFilter filter, int bufferSize) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * Queue a message, disconnecting the subscriber if its buffer is full.
+         * @param message the message
+         */
+        void offer(Set<DataWithMediaType> message) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(message)) {
+                evicted.increment();
+                log.debug("Disconnecting slow live feed subscriber");
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        /**
+         * Stop delivering and complete the connection from the feed executor.
+         */
+        void close() {
+            closed = true;
+            subscriptions.remove(this);
+            scheduleDrain();
+        }
+
+        /**
+         * Mark the subscriber stalled if its current write started longer ago than the timeout.
+         * @param now the current System.nanoTime()
+         * @param timeoutNanos the write timeout
+         * @return true if the subscriber was marked stalled by this call
+         */
+        boolean markStalled(long now, long timeoutNanos) {
+            long started = writeStartedAt.get();
+            return started != IDLE && started != STALLED && now - started > timeoutNanos
+                    && writeStartedAt.compareAndSet(started, STALLED);
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                feedExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                closed = true;
+                subscriptions.remove(this);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                if (closed) {
+                    buffer.clear();
+                    emitter.complete();
+                    return;
+                }
+                Set<DataWithMediaType> message;
+                while (!closed && (message = buffer.poll()) != null) {
+                    writeStartedAt.set(System.nanoTime());
+                    try {
+                        emitter.send(message);
+                    } catch (IOException | IllegalStateException e) {
+                        // The client went away; the container completes the request
+                        closed = true;
+                        subscriptions.remove(this);
+                        buffer.clear();
+                        return;
+                    } finally {
+                        if (writeStartedAt.getAndSet(IDLE) == STALLED) {
+                            // This thread is free again, so its replacement can go
+                            stalledWriters.decrementAndGet();
+                            resizeFeedExecutor();
+                        }
+                    }
+                }
+                if (closed) {
+                    continue;
+                }
+                draining.set(false);
+                if (buffer.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.itemrecovery.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itemrecovery.dto.FoundItemImportRow;
+import com.itemrecovery.dto.ImportReport;
+import com.itemrecovery.dto.ImportRowError;
+import com.itemrecovery.event.ItemLifecycleEvent;
+import com.itemrecovery.model.FoundItem;
+import com.itemrecovery.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Service for bulk importing found items from CSV or NDJSON uploads.
+ * Rows are parsed as a stream, validated in parallel per chunk and inserted
+ * in JDBC batches, one transaction per chunk.
+ */
+@Service
+public class FoundItemImportService {
+    
+    private static final int CHUNK_SIZE = 500;
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "description", "date", "location", "contact");
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private GazetteerService gazetteerService;
+    
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    /**
+     * Import found items from an uploaded file.
+     * Files ending in .ndjson or .jsonl are read as one JSON object per line,
+     * anything else as CSV with a header row naming the columns
+     * name, description, date, location and contact.
+     * @param file the uploaded file
+     * @param userId user ID who is importing the items
+     * @return report with row counts and per-row errors
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the CSV header is missing a required column
+     */
+    public ImportReport importFoundItems(MultipartFile file, Long userId) throws IOException {
+        long start = System.currentTimeMillis();
+        User user = userService.findById(userId);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ImportReport report = new ImportReport();
+
+        List<FoundItemImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        Consumer<FoundItemImportRow> sink = row -> {
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                processChunk(chunk, user.getId(), transactionTemplate, report);
+                chunk.clear();
+            }
+        };
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            if (isNdjson(file.getOriginalFilename())) {
+                readNdjson(reader, report, sink);
+            } else {
+                readCsv(reader, report, sink);
+            }
+        }
+        processChunk(chunk, user.getId(), transactionTemplate, report);
+
+        report.getErrors().sort(Comparator.comparingLong(ImportRowError::getRowNumber));
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        return report;
+    }
+
+    /**
+     * Read CSV records, mapping columns by header name.
+     * @param reader the source reader
+     * @param report the report to record parse errors in
+     * @param sink receives each parsed row
+     * @throws IOException if the file cannot be read
+     */
+    private void readCsv(BufferedReader reader, ImportReport report,
+                         Consumer<FoundItemImportRow> sink) throws IOException {
+        List<String> header = CsvFormat.readRecord(reader);
+        if (header == null) {
+            return;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Strip a UTF-8 byte order mark left by spreadsheet exports
+            columns.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : CSV_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + column);
+            }
+        }
+
+        long rowNumber = 1;
+        while (true) {
+            List<String> record;
+            rowNumber++;
+            try {
+                record = CsvFormat.readRecord(reader);
+            } catch (IOException e) {
+                report.setTotalRows(report.getTotalRows() + 1);
+                report.addError(rowNumber, e.getMessage());
+                return;
+            }
+            if (record == null) {
+                return;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+
+            report.setTotalRows(report.getTotalRows() + 1);
+            FoundItemImportRow row = new FoundItemImportRow();
+            row.setRowNumber(rowNumber);
+            row.setName(field(record, columns, "name"));
+            row.setDescription(field(record, columns, "description"));
+            row.setLocation(field(record, columns, "location"));
+            row.setContact(field(record, columns, "contact"));
+            String date = field(record, columns, "date");
+            if (date != null && !date.isBlank()) {
+                try {
+                    row.setDate(LocalDate.parse(date.trim()));
+                } catch (DateTimeParseException e) {
+                    report.addError(rowNumber, "Invalid date '" + date + "', expected yyyy-MM-dd");
+                    continue;
+                }
+            }
+            sink.accept(row);
+        }
+    }
+
+    /**
+     * Read one JSON object per line.
+     * @param reader the source reader
+     * @param report the report to record parse errors in
+     * @param sink receives each parsed row
+     * @throws IOException if the file cannot be read
+     */
+    private void readNdjson(BufferedReader reader, ImportReport report,
+                            Consumer<FoundItemImportRow> sink) throws IOException {
+        long rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            report.setTotalRows(report.getTotalRows() + 1);
+            try {
+                FoundItemImportRow row = objectMapper.readValue(line, FoundItemImportRow.class);
+                row.setRowNumber(rowNumber);
+                sink.accept(row);
+            } catch (JsonProcessingException e) {
+                report.addError(rowNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * Validate a chunk of rows and insert the valid ones in one transaction.
+     * If the insert fails, every valid row of the chunk is reported as failed.
+     * @param chunk the parsed rows
+     * @param userId user ID who is importing the items
+     * @param transactionTemplate the transaction template
+     * @param report the report to update
+     */
+    private void processChunk(List<FoundItemImportRow> chunk, Long userId,
+                              TransactionTemplate transactionTemplate, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // Validation is CPU-only and the validator is thread-safe
+        List<String> violations = chunk.parallelStream()
+                .map(this::validate)
+                .collect(Collectors.toList());
+
+        List<FoundItemImportRow> validRows = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (violations.get(i) == null) {
+                validRows.add(chunk.get(i));
+            } else {
+                report.addError(chunk.get(i).getRowNumber(), violations.get(i));
+            }
+        }
+        if (validRows.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertRows(validRows, userId));
+            report.setImportedRows(report.getImportedRows() + validRows.size());
+        } catch (RuntimeException e) {
+            for (FoundItemImportRow row : validRows) {
+                report.addError(row.getRowNumber(), "Not saved: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Validate a single row.
+     * @param row the row
+     * @return the violation messages, or null if the row is valid
+     */
+    private String validate(FoundItemImportRow row) {
+        Set<ConstraintViolation<FoundItemImportRow>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Insert rows, flushing and clearing the persistence context every JDBC batch
+     * so the session stays small.
+     * @param rows the validated rows
+     * @param userId user ID who is importing the items
+     */
+    private void insertRows(List<FoundItemImportRow> rows, Long userId) {
+        User user = entityManager.getReference(User.class, userId);
+        LocalDateTime importedAt = LocalDateTime.now();
+        for (int i = 0; i < rows.size(); i++) {
+            FoundItemImportRow row = rows.get(i);
+            FoundItem item = new FoundItem(row.getName().trim(), row.getDescription().trim(), row.getDate(),
+                    row.getLocation().trim(), row.getContact().trim());
+            item.setUser(user);
+            item.setStatusChangedAt(importedAt);
+            item.setLocationId(gazetteerService.resolve(item.getLocation()));
+            item.setBuildingId(gazetteerService.buildingOf(item.getLocationId()));
+            entityManager.persist(item);
+            eventPublisher.publishEvent(ItemLifecycleEvent.created(item));
+
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                user = entityManager.getReference(User.class, userId);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        int index = columns.get(column);
+        return index < record.size() ? record.get(index) : null;
+    }
+
+    private static boolean isNdjson(String filename) {
+        if (filename == null) {
+            return false;
+        }
+        String lower = filename.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".ndjson") || lower.endsWith(".jsonl");
+    }
+}
@@ -1,18 +1,28 @@
 package com.itemrecovery.service;
 
+import com.itemrecovery.dto.BulkItemResult;
 import com.itemrecovery.dto.ItemResponse;
+import com.itemrecovery.event.ImagesReleasedEvent;
+import com.itemrecovery.event.FoundItemReportedEvent;
+import com.itemrecovery.event.ItemLifecycleEvent;
+import com.itemrecovery.exception.ItemConflictException;
 import com.itemrecovery.model.FoundItem;
 import com.itemrecovery.model.ItemStatus;
 import com.itemrecovery.model.User;
 import com.itemrecovery.repository.FoundItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +41,15 @@ public class FoundItemService {
     
     @Autowired
     private UserService userService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private GazetteerService gazetteerService;
 
     /**
      * Create a new found item.
@@ -39,13 +58,13 @@ public class FoundItemService {
      * @param date date found
      * @param location location where item was found
      * @param contact contact details
-     * @param imageFile image file (optional)
+     * @param image the prepared image (optional), see {@link ImageService#prepare}
      * @param userId user ID who reported the item
      * @return the created found item
      * @throws IOException if image cannot be saved
      */
     public FoundItem createFoundItem(String name, String description, LocalDate date,
-                                      String location, String contact, MultipartFile imageFile,
+                                      String location, String contact, PreparedImage image,
                                       Long userId) throws IOException {
         User user = userService.findById(userId);
         
@@ -54,17 +73,24 @@ public class FoundItemService {
         item.setDescription(description);
         item.setDate(date);
         item.setLocation(location);
+        item.setLocationId(gazetteerService.resolve(location));
+        item.setBuildingId(gazetteerService.buildingOf(item.getLocationId()));
         item.setContact(contact);
         item.setStatus(ItemStatus.FOUND);
+        item.setStatusChangedAt(LocalDateTime.now());
         item.setUser(user);
 
         // Save image if provided
-        if (imageFile != null && !imageFile.isEmpty()) {
-            String imagePath = imageService.saveFoundItemImage(imageFile);
+        if (image != null) {
+            String imagePath = imageService.saveFoundItemImage(image);
             item.setImagePath(imagePath);
         }
 
-        return foundItemRepository.save(item);
+        FoundItem saved = foundItemRepository.save(item);
+        eventPublisher.publishEvent(ItemLifecycleEvent.created(saved));
+        eventPublisher.publishEvent(new FoundItemReportedEvent(toItemResponse(saved)));
+        outboxService.foundItemReported(saved);
+        return saved;
     }
 
     /**
@@ -76,6 +102,26 @@ public class FoundItemService {
         return foundItemRepository.findAll();
     }
 
+    /**
+     * Get found items that are still open (not yet matched or recovered).
+     * @return list of open found items
+     */
+    @Transactional(readOnly = true)
+    public List<FoundItem> getOpenFoundItems() {
+        return foundItemRepository.findByStatusIn(ItemStatus.openStatuses());
+    }
+
+    /**
+     * Get open found items that may be in a building: those in it and those whose
+     * building is unknown.
+     * @param buildingId the gazetteer building ID
+     * @return list of open found items in or possibly in the building
+     */
+    @Transactional(readOnly = true)
+    public List<FoundItem> getOpenFoundItemsInBuilding(Long buildingId) {
+        return foundItemRepository.findByStatusInAndBuildingIdOrUnknown(ItemStatus.openStatuses(), buildingId);
+    }
+
     /**
      * Get found items by user.
      * @param userId the user ID
@@ -101,13 +147,13 @@ public class FoundItemService {
 
     /**
      * Delete a found item.
-     * Also deletes the associated image file.
+     * Its image is released in the background after the transaction commits,
+     * so a rollback keeps the file.
      * @param id the item ID
      * @param userId the user ID (for authorization check)
      * @throws IllegalArgumentException if item not found or user not authorized
-     * @throws IOException if image cannot be deleted
      */
-    public void deleteFoundItem(Long id, Long userId) throws IOException {
+    public void deleteFoundItem(Long id, Long userId) {
         FoundItem item = getFoundItemById(id);
         User user = userService.findById(userId);
 
@@ -116,11 +162,11 @@ public class FoundItemService {
             throw new IllegalArgumentException("Not authorized to delete this item");
         }
 
-        // Delete image if exists
         if (item.getImagePath() != null && !item.getImagePath().isEmpty()) {
-            imageService.deleteImage(item.getImagePath());
+            eventPublisher.publishEvent(new ImagesReleasedEvent(List.of(item.getImagePath())));
         }
 
+        eventPublisher.publishEvent(ItemLifecycleEvent.deleted(item));
         foundItemRepository.delete(item);
     }
 
@@ -131,8 +177,101 @@ public class FoundItemService {
      */
     public void updateStatus(Long id, ItemStatus status) {
         FoundItem item = getFoundItemById(id);
+        ItemStatus previousStatus = item.getStatus();
         item.setStatus(status);
+        if (previousStatus != status) {
+            item.setStatusChangedAt(LocalDateTime.now());
+        }
         foundItemRepository.save(item);
+        if (previousStatus != status) {
+            eventPublisher.publishEvent(ItemLifecycleEvent.statusChanged(item, previousStatus));
+        }
+    }
+
+    /**
+     * Set the status of many found items at once.
+     * The items are locked and read in one query to determine per-item results,
+     * then changed with a single UPDATE.
+     * @param ids the item IDs
+     * @param status the new status
+     * @return one result per requested ID (UPDATED, UNCHANGED or NOT_FOUND)
+     */
+    public List<BulkItemResult> bulkUpdateStatus(Collection<Long> ids, ItemStatus status) {
+        Map<Long, FoundItem> items = foundItemRepository.findAllByIdForUpdate(ids).stream()
+                .collect(Collectors.toMap(FoundItem::getId, Function.identity()));
+        LocalDateTime changedAt = LocalDateTime.now();
+        foundItemRepository.updateStatusByIdIn(ids, status, changedAt);
+
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            FoundItem item = items.get(id);
+            if (item == null) {
+                results.add(new BulkItemResult("FOUND", id, "NOT_FOUND"));
+            } else if (item.getStatus() == status) {
+                results.add(new BulkItemResult("FOUND", id, "UNCHANGED"));
+            } else {
+                ItemStatus previousStatus = item.getStatus();
+                item.setStatus(status);
+                item.setStatusChangedAt(changedAt);
+                eventPublisher.publishEvent(ItemLifecycleEvent.statusChanged(item, previousStatus));
+                results.add(new BulkItemResult("FOUND", id, "UPDATED"));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Delete many found items at once.
+     * Rows are removed with a single DELETE; their image files are deleted
+     * in the background after the transaction commits.
+     * @param ids the item IDs
+     * @return one result per requested ID (DELETED or NOT_FOUND)
+     */
+    public List<BulkItemResult> bulkDelete(Collection<Long> ids) {
+        Map<Long, FoundItem> items = foundItemRepository.findAllByIdForUpdate(ids).stream()
+                .collect(Collectors.toMap(FoundItem::getId, Function.identity()));
+        if (!items.isEmpty()) {
+            foundItemRepository.deleteAllByIdInBatch(items.keySet());
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        List<String> imagePaths = new ArrayList<>();
+        for (Long id : ids) {
+            FoundItem item = items.get(id);
+            if (item == null) {
+                results.add(new BulkItemResult("FOUND", id, "NOT_FOUND"));
+                continue;
+            }
+            if (item.getImagePath() != null && !item.getImagePath().isEmpty()) {
+                imagePaths.add(item.getImagePath());
+            }
+            eventPublisher.publishEvent(ItemLifecycleEvent.deleted(item));
+            results.add(new BulkItemResult("FOUND", id, "DELETED"));
+        }
+        if (!imagePaths.isEmpty()) {
+            eventPublisher.publishEvent(new ImagesReleasedEvent(imagePaths));
+        }
+        return results;
+    }
+
+    /**
+     * Atomically move a found item from an expected status to a new one.
+     * Uses a single conditional UPDATE instead of read-modify-write.
+     * @param item the item as read by the caller; its status is the expected status
+     * @param status the new status
+     * @throws ItemConflictException if another transaction changed the item's status first
+     */
+    public void compareAndSetStatus(FoundItem item, ItemStatus status) {
+        ItemStatus previousStatus = item.getStatus();
+        LocalDateTime changedAt = LocalDateTime.now();
+        if (foundItemRepository.compareAndSetStatus(item.getId(), previousStatus, status, changedAt) == 0) {
+            throw new ItemConflictException("Found item " + item.getId()
+                    + " was changed by someone else; please reload and try again");
+        }
+        // The update bypassed the persistence context, so the caller's copy is stale
+        item.setStatus(status);
+        item.setStatusChangedAt(changedAt);
+        eventPublisher.publishEvent(ItemLifecycleEvent.statusChanged(item, previousStatus));
     }
 
     /**
@@ -153,6 +292,7 @@ public class FoundItemService {
         response.setUsername(item.getUser().getUsername());
         response.setUserId(item.getUser().getId());
         response.setItemType("FOUND");
+        response.setVersion(item.getVersion());
         return response;
     }
 
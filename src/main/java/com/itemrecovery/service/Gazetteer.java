@@ -0,0 +1,223 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.dto.LocationNode;
+import com.itemrecovery.model.Location;
+import com.itemrecovery.model.LocationLevel;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable in-memory snapshot of the location hierarchy.
+ * Each location keeps the IDs of its ancestors, so the distance between two locations
+ * is a comparison of two short arrays. Free text is resolved by looking up its word
+ * n-grams among location names and aliases.
+ */
+final class Gazetteer {
+
+    static final Gazetteer EMPTY = new Gazetteer(List.of());
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<Long, Node> nodes = new HashMap<>();
+
+    // Normalized name or alias -> IDs of the locations known by it
+    private final Map<String, List<Long>> phrases = new HashMap<>();
+
+    private int maxPhraseWords = 1;
+
+    /**
+     * Build a snapshot.
+     * @param locations all locations, with aliases loaded
+     */
+    Gazetteer(List<Location> locations) {
+        Map<Long, Location> byId = new HashMap<>();
+        for (Location location : locations) {
+            byId.put(location.getId(), location);
+        }
+        for (Location location : locations) {
+            List<Long> path = new ArrayList<>();
+            Set<Long> seen = new HashSet<>();
+            for (Location current = location; current != null && seen.add(current.getId());
+                 current = current.getParent() == null ? null : byId.get(current.getParent().getId())) {
+                path.add(0, current.getId());
+            }
+            Node node = new Node(location, path.stream().mapToLong(Long::longValue).toArray());
+            nodes.put(location.getId(), node);
+
+            Set<String> names = new HashSet<>();
+            names.add(normalize(location.getName()));
+            for (String alias : location.getAliases()) {
+                names.add(normalize(alias));
+            }
+            for (String name : names) {
+                if (!name.isEmpty()) {
+                    phrases.computeIfAbsent(name, k -> new ArrayList<>()).add(location.getId());
+                    maxPhraseWords = Math.max(maxPhraseWords, name.split(" ").length);
+                }
+            }
+        }
+        for (Node node : nodes.values()) {
+            for (long ancestor : node.path) {
+                Node candidate = nodes.get(ancestor);
+                if (candidate.level == LocationLevel.BUILDING) {
+                    node.buildingId = candidate.id;
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolve free text to the most specific location it names.
+     * A name shared by several locations (e.g. "2nd floor") only counts when the text
+     * also names one of that location's ancestors; among the candidates, the one whose
+     * ancestors are named most often wins, then the deeper one.
+     * @param text the free-text location
+     * @return the location ID, or null if nothing matched unambiguously
+     */
+    Long resolve(String text) {
+        String[] words = normalize(text).split(" ");
+        Set<Long> named = new HashSet<>();
+        Set<Long> namedUniquely = new HashSet<>();
+        for (int start = 0; start < words.length; start++) {
+            StringBuilder phrase = new StringBuilder();
+            for (int end = start; end < words.length && end - start < maxPhraseWords; end++) {
+                if (end > start) {
+                    phrase.append(' ');
+                }
+                phrase.append(words[end]);
+                List<Long> ids = phrases.get(phrase.toString());
+                if (ids != null) {
+                    named.addAll(ids);
+                    if (ids.size() == 1) {
+                        namedUniquely.add(ids.get(0));
+                    }
+                }
+            }
+        }
+
+        Node best = null;
+        int bestSupport = 0;
+        for (Long id : named) {
+            Node node = nodes.get(id);
+            int support = 0;
+            for (long ancestor : node.path) {
+                if (named.contains(ancestor)) {
+                    support++;
+                }
+            }
+            // support > 1 means a proper ancestor was named as well
+            if (support == 1 && !namedUniquely.contains(id)) {
+                continue;
+            }
+            if (best == null || support > bestSupport
+                    || (support == bestSupport && node.path.length > best.path.length)
+                    || (support == bestSupport && node.path.length == best.path.length && node.id < best.id)) {
+                best = node;
+                bestSupport = support;
+            }
+        }
+        return best == null ? null : best.id;
+    }
+
+    /**
+     * Count the steps between two locations through their closest common ancestor.
+     * @param first the first location ID
+     * @param second the second location ID
+     * @return the number of steps, or -1 if the locations are unknown or share no ancestor
+     */
+    int distance(Long first, Long second) {
+        Node a = nodes.get(first);
+        Node b = nodes.get(second);
+        if (a == null || b == null) {
+            return -1;
+        }
+        int common = 0;
+        while (common < a.path.length && common < b.path.length && a.path[common] == b.path[common]) {
+            common++;
+        }
+        return common == 0 ? -1 : (a.path.length - common) + (b.path.length - common);
+    }
+
+    /**
+     * Get the building containing a location.
+     * @param locationId the location ID, or null
+     * @return the building ID (the location itself if it is a building), or null
+     */
+    Long buildingOf(Long locationId) {
+        Node node = locationId == null ? null : nodes.get(locationId);
+        return node == null ? null : node.buildingId;
+    }
+
+    /**
+     * List all locations depth-first, each followed by its children in name order.
+     * @return the locations with their depth and full path
+     */
+    List<LocationNode> tree() {
+        List<Node> sorted = new ArrayList<>(nodes.values());
+        sorted.sort(Comparator.comparing(this::sortKey));
+        List<LocationNode> tree = new ArrayList<>();
+        for (Node node : sorted) {
+            tree.add(new LocationNode(node.id, node.name, node.level, node.path.length - 1, pathName(node), node.aliases));
+        }
+        return tree;
+    }
+
+    boolean contains(Long locationId) {
+        return locationId != null && nodes.containsKey(locationId);
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    static String normalize(String text) {
+        return NON_WORD.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private String pathName(Node node) {
+        StringBuilder name = new StringBuilder();
+        for (long id : node.path) {
+            if (name.length() > 0) {
+                name.append(" / ");
+            }
+            name.append(nodes.get(id).name);
+        }
+        return name.toString();
+    }
+
+    private String sortKey(Node node) {
+        StringBuilder key = new StringBuilder();
+        for (long id : node.path) {
+            key.append(nodes.get(id).name.toLowerCase(Locale.ROOT)).append('\u0000');
+        }
+        return key.toString();
+    }
+
+    /**
+     * A location with the IDs of its ancestors, outermost first and ending with its own.
+     */
+    private static final class Node {
+        final long id;
+        final String name;
+        final LocationLevel level;
+        final List<String> aliases;
+        final long[] path;
+        Long buildingId;
+
+        Node(Location location, long[] path) {
+            this.id = location.getId();
+            this.name = location.getName();
+            this.level = location.getLevel();
+            this.aliases = location.getAliases().stream().sorted().toList();
+            this.path = path;
+        }
+    }
+}
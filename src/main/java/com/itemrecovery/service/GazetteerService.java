@@ -0,0 +1,240 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.dto.LocationNode;
+import com.itemrecovery.model.Location;
+import com.itemrecovery.model.LocationLevel;
+import com.itemrecovery.repository.ItemLocationRepository;
+import com.itemrecovery.repository.LocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service for the gazetteer of canonical locations.
+ * Item locations are resolved to a gazetteer location once, when the item is created,
+ * so matching compares location IDs by their distance in the containment hierarchy
+ * instead of comparing free text. The gazetteer is held in memory and reloaded when
+ * an admin changes it, and periodically in case another instance did.
+ */
+@Service
+public class GazetteerService {
+
+    private static final Logger log = LoggerFactory.getLogger(GazetteerService.class);
+
+    // Location score by hierarchy distance: same place, room in floor, two rooms on a floor, ...
+    private static final double[] SCORE_BY_DISTANCE = {1.0, 0.85, 0.7, 0.55, 0.4, 0.25, 0.1};
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private ItemLocationRepository itemLocationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.gazetteer.resolve-batch-size:1000}")
+    private int resolveBatchSize;
+
+    private volatile Gazetteer gazetteer = Gazetteer.EMPTY;
+
+    private final AtomicBoolean resolving = new AtomicBoolean();
+
+    /**
+     * Resolve a free-text location to a gazetteer location.
+     * @param location the location as entered
+     * @return the most specific location it unambiguously names, or null
+     */
+    public Long resolve(String location) {
+        return location == null ? null : gazetteer.resolve(location);
+    }
+
+    /**
+     * Get the building containing a gazetteer location.
+     * @param locationId the location ID, or null
+     * @return the building ID, or null if the location is not in or below a building
+     */
+    public Long buildingOf(Long locationId) {
+        return gazetteer.buildingOf(locationId);
+    }
+
+    /**
+     * Score how close two gazetteer locations are.
+     * @param first the first location ID
+     * @param second the second location ID
+     * @return 1.0 for the same location, decreasing with the steps between them,
+     *         0.0 if they share no containing location
+     */
+    public double locationScore(Long first, Long second) {
+        int distance = gazetteer.distance(first, second);
+        if (distance < 0) {
+            return 0.0;
+        }
+        return SCORE_BY_DISTANCE[Math.min(distance, SCORE_BY_DISTANCE.length - 1)];
+    }
+
+    /**
+     * Check whether two gazetteer locations are both known.
+     * @param first the first location ID, or null
+     * @param second the second location ID, or null
+     * @return true if both can be scored by hierarchy distance
+     */
+    public boolean canScore(Long first, Long second) {
+        Gazetteer current = gazetteer;
+        return current.contains(first) && current.contains(second);
+    }
+
+    /**
+     * List the gazetteer as a tree.
+     * @return all locations depth-first
+     */
+    public List<LocationNode> getLocationTree() {
+        return gazetteer.tree();
+    }
+
+    /**
+     * Add a location to the gazetteer.
+     * @param name the location name
+     * @param level the location level
+     * @param parentId ID of the containing location, or null for a top-level location
+     * @param aliases comma-separated other names, or null
+     * @return the saved location
+     * @throws IllegalArgumentException if the name is blank, the parent does not exist,
+     *         or the level is not below the parent's
+     */
+    public Location addLocation(String name, LocationLevel level, Long parentId, String aliases) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Location name is required");
+        }
+        if (level == null) {
+            throw new IllegalArgumentException("Location level is required");
+        }
+        Location parent = null;
+        if (parentId != null) {
+            parent = locationRepository.findById(parentId)
+                    .orElseThrow(() -> new IllegalArgumentException("Parent location not found"));
+            if (level.ordinal() <= parent.getLevel().ordinal()) {
+                throw new IllegalArgumentException("A " + level + " cannot be inside a " + parent.getLevel());
+            }
+        }
+
+        Location location = new Location(name.trim(), level, parent);
+        if (aliases != null) {
+            Set<String> aliasSet = new LinkedHashSet<>();
+            Arrays.stream(aliases.split(","))
+                    .map(String::trim)
+                    .filter(alias -> !alias.isEmpty())
+                    .forEach(aliasSet::add);
+            location.setAliases(aliasSet);
+        }
+        Location saved = locationRepository.save(location);
+        reload();
+        return saved;
+    }
+
+    /**
+     * Load the gazetteer once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    /**
+     * Reload the gazetteer from the database and swap it in.
+     */
+    @Scheduled(fixedDelayString = "${app.gazetteer.reload-interval:PT10M}",
+               initialDelayString = "${app.gazetteer.reload-interval:PT10M}")
+    public synchronized void reload() {
+        try {
+            Gazetteer loaded = new Gazetteer(locationRepository.findAllWithAliases());
+            if (loaded.size() != gazetteer.size()) {
+                log.info("Loaded gazetteer with {} locations", loaded.size());
+            }
+            gazetteer = loaded;
+        } catch (RuntimeException e) {
+            log.error("Failed to load the gazetteer", e);
+        }
+    }
+
+    /**
+     * Resolve the locations of items that have none, e.g. after the gazetteer grew.
+     * Each batch is updated in its own short transaction. Does nothing if a backfill
+     * is already running.
+     */
+    @Async
+    public void resolveUnresolvedItems() {
+        if (!resolving.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            long lostResolved = resolveInBatches(transactionTemplate, "LOST");
+            long foundResolved = resolveInBatches(transactionTemplate, "FOUND");
+            log.info("Resolved locations of {} lost and {} found items in {} ms", lostResolved, foundResolved,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Failed to resolve item locations", e);
+        } finally {
+            resolving.set(false);
+        }
+    }
+
+    /**
+     * Check whether a backfill is running.
+     * @return true while unresolved items are being resolved
+     */
+    public boolean isResolving() {
+        return resolving.get();
+    }
+
+    /**
+     * Resolve all unresolved items of one type.
+     * Items that still do not resolve are skipped by moving past their IDs.
+     * @param transactionTemplate the transaction template
+     * @param itemType "LOST" or "FOUND"
+     * @return number of items resolved
+     */
+    private long resolveInBatches(TransactionTemplate transactionTemplate, String itemType) {
+        Gazetteer current = gazetteer;
+        long resolved = 0;
+        long afterId = 0;
+        while (true) {
+            Map<Long, String> batch = itemLocationRepository.findUnresolved(itemType, afterId, resolveBatchSize);
+            List<SqlParameterSource> rows = new ArrayList<>();
+            for (Map.Entry<Long, String> item : batch.entrySet()) {
+                Long locationId = current.resolve(item.getValue());
+                if (locationId != null) {
+                    rows.add(new MapSqlParameterSource("id", item.getKey())
+                            .addValue("locationId", locationId)
+                            .addValue("buildingId", current.buildingOf(locationId)));
+                }
+                afterId = item.getKey();
+            }
+            Integer updated = transactionTemplate.execute(status -> itemLocationRepository.updateResolved(itemType, rows));
+            resolved += updated;
+            if (batch.size() < resolveBatchSize) {
+                return resolved;
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.itemrecovery.service;
+
+/**
+ * Helpers for the sharded upload layout.
+ * Files are fanned out over two directory levels named after the first four characters
+ * of the file name, e.g. uploads/images/ab/cd/abcd1234.jpg, so no directory grows past
+ * a few hundred entries. Names are content hashes or UUIDs, so the prefix is uniform.
+ */
+public final class ImageLayout {
+
+    private static final int SHARD_WIDTH = 2;
+
+    private ImageLayout() {
+    }
+
+    /**
+     * Get the sharded form of a path.
+     * Variants share their original's prefix, so they land in the same directory.
+     * @param imagePath a flat or sharded path
+     * @return the sharded path, or the path unchanged if it is already sharded or its name is too short
+     */
+    public static String sharded(String imagePath) {
+        if (imagePath == null || isSharded(imagePath)) {
+            return imagePath;
+        }
+        int slash = imagePath.lastIndexOf('/');
+        String directory = imagePath.substring(0, slash + 1);
+        String name = imagePath.substring(slash + 1);
+        if (baseLength(name) < 2 * SHARD_WIDTH) {
+            return imagePath;
+        }
+        return directory + name.substring(0, SHARD_WIDTH) + "/"
+                + name.substring(SHARD_WIDTH, 2 * SHARD_WIDTH) + "/" + name;
+    }
+
+    /**
+     * Get the flat form of a path, as stored before the layout migration.
+     * @param imagePath a flat or sharded path
+     * @return the path without its shard directories, or the path unchanged if it is not sharded
+     */
+    public static String flat(String imagePath) {
+        if (imagePath == null || !isSharded(imagePath)) {
+            return imagePath;
+        }
+        int slash = imagePath.lastIndexOf('/');
+        int shardStart = imagePath.lastIndexOf('/', imagePath.lastIndexOf('/', slash - 1) - 1);
+        return imagePath.substring(0, shardStart + 1) + imagePath.substring(slash + 1);
+    }
+
+    /**
+     * Check whether a path already sits in its shard directories.
+     * @param imagePath the path to check
+     * @return true if the two parent directories match the name's prefix
+     */
+    public static boolean isSharded(String imagePath) {
+        String[] segments = imagePath.split("/");
+        if (segments.length < 3) {
+            return false;
+        }
+        String name = segments[segments.length - 1];
+        return baseLength(name) >= 2 * SHARD_WIDTH
+                && segments[segments.length - 3].equals(name.substring(0, SHARD_WIDTH))
+                && segments[segments.length - 2].equals(name.substring(SHARD_WIDTH, 2 * SHARD_WIDTH));
+    }
+
+    private static int baseLength(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 ? dot : name.length();
+    }
+}
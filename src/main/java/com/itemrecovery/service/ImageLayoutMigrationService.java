@@ -0,0 +1,92 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.model.ImageVariant;
+import com.itemrecovery.repository.ImagePathRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service moving images uploaded before the sharded layout into their shard directories.
+ * Works on any image storage backend.
+ * Runs in the background after startup while the application keeps serving: files are
+ * moved first, then their paths are rewritten in one transaction per batch. In between,
+ * the upload resource handler finds a moved file under its old URL.
+ */
+@Service
+public class ImageLayoutMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageLayoutMigrationService.class);
+
+    @Autowired
+    private ImagePathRepository imagePathRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Value("${app.images.layout-migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.images.layout-migration.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Migrate all flat paths, one batch at a time.
+     * Walks the paths once in order, so a file that cannot be moved is skipped
+     * and retried at the next startup.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        String after = "";
+        int migrated = 0;
+        List<String> paths;
+        while (!(paths = imagePathRepository.findUnshardedPaths(after, batchSize)).isEmpty()) {
+            Map<String, String> rewrites = new LinkedHashMap<>();
+            for (String path : paths) {
+                String target = ImageLayout.sharded(path);
+                if (target.equals(path)) {
+                    continue;
+                }
+                try {
+                    moveWithVariants(path, target);
+                    rewrites.put(path, target);
+                } catch (IOException e) {
+                    log.warn("Could not move image {} to {}: {}", path, target, e.getMessage());
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> imagePathRepository.rewritePaths(rewrites));
+            migrated += rewrites.size();
+            after = paths.get(paths.size() - 1);
+        }
+        if (migrated > 0) {
+            log.info("Moved {} images into the sharded layout", migrated);
+        }
+    }
+
+    private void moveWithVariants(String path, String target) throws IOException {
+        imageStorage.move(path, target);
+        for (ImageVariant variant : ImageVariant.values()) {
+            imageStorage.move(variant.pathFor(path), variant.pathFor(target));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.itemrecovery.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service normalizing uploaded images before they are stored.
+ * Each upload is decoded once, rotated upright, capped to the configured maximum
+ * dimension and re-encoded as JPEG without metadata (EXIF, GPS position, camera
+ * details). Decoding a full-size photo takes tens of megabytes of heap, so the number
+ * of uploads normalized at once is bounded; further uploads fail at once by default
+ * rather than holding their request thread.
+ */
+@Service
+public class ImageNormalizationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageNormalizationService.class);
+
+    @Value("${app.images.ingest.max-dimension:2048}")
+    private int maxDimension;
+
+    @Value("${app.images.ingest.quality:0.85}")
+    private float quality;
+
+    @Value("${app.images.ingest.max-concurrency:2}")
+    private int maxConcurrency;
+
+    @Value("${app.images.ingest.acquire-timeout:PT0S}")
+    private Duration acquireTimeout;
+
+    private Semaphore permits;
+
+    @PostConstruct
+    void initPermits() {
+        permits = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * Normalize an uploaded image.
+     * @param upload the staged upload
+     * @return a new JPEG file next to the upload, owned by the caller, or null if no
+     *         ImageIO reader supports the format. A JPEG ImageIO cannot decode (CMYK or
+     *         truncated) is copied without its metadata segments instead of re-encoded.
+     * @throws IOException if the image cannot be read or written, cannot be decoded and
+     *         is not a JPEG, or too many uploads are being normalized
+     */
+    public Path normalize(Path upload) throws IOException {
+        acquire();
+        try {
+            BufferedImage image;
+            try {
+                image = ImageTransforms.read(upload, maxDimension);
+            } catch (IIOException e) {
+                // The decoder rejected the file; it cannot be re-encoded, so its metadata is cut out instead
+                log.debug("Stripping metadata from {}, it cannot be decoded: {}", upload.getFileName(), e.getMessage());
+                return stripMetadata(upload);
+            }
+            if (image == null) {
+                return null;
+            }
+            image = ImageTransforms.applyOrientation(image, ImageTransforms.readOrientation(upload));
+            image = ImageTransforms.scaleToFit(image, maxDimension);
+
+            Path normalized = Files.createTempFile(upload.getParent(), "normalized-", ".jpg");
+            try {
+                ImageTransforms.writeJpeg(image, normalized, quality);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(normalized);
+                throw e;
+            }
+            return normalized;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Copy an undecodable upload without its metadata segments.
+     * @throws IOException if the upload is not a JPEG whose segments can be parsed
+     */
+    private Path stripMetadata(Path upload) throws IOException {
+        Path stripped = Files.createTempFile(upload.getParent(), "stripped-", ".jpg");
+        try {
+            if (!ImageTransforms.stripMetadata(upload, stripped)) {
+                throw new IIOException("The image is damaged or in an unsupported format");
+            }
+            return stripped;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(stripped);
+            throw e;
+        }
+    }
+
+    private void acquire() throws IOException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Too many images are being processed, please try again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to process image");
+        }
+    }
+}
@@ -1,100 +1,271 @@
 package com.itemrecovery.service;
 
+import com.itemrecovery.event.ImagesReleasedEvent;
+import com.itemrecovery.model.StoredImage;
+import com.itemrecovery.repository.StoredImageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
 import java.util.UUID;
 
 /**
  * Service for handling image upload operations.
- * Manages saving images to the file system and returning file paths.
+ * Manages saving images to the configured image storage and returning file paths.
  */
 @Service
 public class ImageService {
     
+    private static final Logger log = LoggerFactory.getLogger(ImageService.class);
+
+    // Subdirectory of the upload directory holding content-addressed images
+    private static final String IMAGE_DIRECTORY = "images";
+
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+    
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
+    
+    @Value("${spring.servlet.multipart.location:upload-staging}")
+    private String stagingDir;
+    
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private StoredImageRepository storedImageRepository;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private ImageNormalizationService imageNormalizationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     /**
-     * Save an uploaded image file for a lost item.
+     * Prepare an uploaded image for storage: stage, normalize and hash it.
+     * Decoding and hashing take the longest part of an upload, so this runs before
+     * the transaction that stores the item, and no database connection is held meanwhile.
      * @param file the uploaded file
-     * @return the relative path to the saved image
+     * @return the prepared image, to be closed by the caller, or null if no file was uploaded
+     * @throws IOException if the file cannot be staged or normalized, or too many
+     *         uploads are being normalized
+     */
+    public PreparedImage prepare(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            return null;
+        }
+
+        // Validate file type
+        String originalFilename = file.getOriginalFilename();
+        if (originalFilename == null) {
+            throw new IOException("Filename is null");
+        }
+
+        String extension = "";
+        int lastDotIndex = originalFilename.lastIndexOf('.');
+        if (lastDotIndex > 0) {
+            extension = originalFilename.substring(lastDotIndex).toLowerCase(Locale.ROOT);
+        }
+
+        Path staged = stage(file);
+        Path normalized = null;
+        try {
+            // Images are stored downscaled and without metadata; other formats as uploaded
+            normalized = imageNormalizationService.normalize(staged);
+            Path upload = staged;
+            if (normalized != null) {
+                upload = normalized;
+                extension = ".jpg";
+            }
+            return new PreparedImage(staged, normalized, sha256(upload), Files.size(upload), extension);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(staged);
+            if (normalized != null) {
+                Files.deleteIfExists(normalized);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Save a prepared image for a lost item.
+     * @param image the prepared image, or null
+     * @return the relative path to the saved image, or null if there is no image
      * @throws IOException if file cannot be saved
      */
-    public String saveLostItemImage(MultipartFile file) throws IOException {
-        return saveImage(file, "lost");
+    public String saveLostItemImage(PreparedImage image) throws IOException {
+        return saveImage(image);
     }
 
     /**
-     * Save an uploaded image file for a found item.
-     * @param file the uploaded file
-     * @return the relative path to the saved image
+     * Save a prepared image for a found item.
+     * @param image the prepared image, or null
+     * @return the relative path to the saved image, or null if there is no image
      * @throws IOException if file cannot be saved
      */
-    public String saveFoundItemImage(MultipartFile file) throws IOException {
-        return saveImage(file, "found");
+    public String saveFoundItemImage(PreparedImage image) throws IOException {
+        return saveImage(image);
     }
 
     /**
      * Internal method to save an image file.
-     * @param file the uploaded file
-     * @param subdirectory the subdirectory (lost or found)
+     * Images are stored once per distinct content under their SHA-256, so identical
+     * uploads share one file and every image path names immutable bytes.
+     * Must run in the transaction that stores the referencing item, so a rollback
+     * also drops the reference.
+     * @param image the prepared image, or null
      * @return the relative path to the saved image
      * @throws IOException if file cannot be saved
      */
-    private String saveImage(MultipartFile file, String subdirectory) throws IOException {
-        if (file == null || file.isEmpty()) {
+    private String saveImage(PreparedImage image) throws IOException {
+        if (image == null) {
             return null;
         }
+        String hash = image.getHash();
 
-        // Validate file type
-        String originalFilename = file.getOriginalFilename();
-        if (originalFilename == null) {
-            throw new IOException("Filename is null");
-        }
+        // Reuse the path of earlier uploads with the same content, whatever their extension
+        String imagePath = storedImageRepository.findById(hash)
+                .map(StoredImage::getPath)
+                .orElse(ImageLayout.sharded(uploadDir + "/" + IMAGE_DIRECTORY + "/" + hash + image.getExtension()));
 
-        String extension = "";
-        int lastDotIndex = originalFilename.lastIndexOf('.');
-        if (lastDotIndex > 0) {
-            extension = originalFilename.substring(lastDotIndex);
+        // The reference is registered first: it locks the image row until this transaction
+        // ends, and waits for a release of the last reference that is deleting the file,
+        // so the existence check below sees the file as it will be after both commit
+        storedImageRepository.addReference(hash, imagePath, image.getSize());
+
+        // An existing file is touched so the orphan collector does not take it
+        // before this reference commits
+        boolean placed = false;
+        String sharded = ImageLayout.sharded(imagePath);
+        if (imageStorage.exists(imagePath)) {
+            imageStorage.touch(imagePath);
+        } else if (imageStorage.exists(sharded)) {
+            imageStorage.touch(sharded);
+        } else {
+            imageStorage.store(imagePath, image.getFile());
+            placed = true;
         }
 
-        // Generate unique filename
-        String filename = UUID.randomUUID().toString() + extension;
-        
-        // Create directory if it doesn't exist
-        Path uploadPath = Paths.get(uploadDir, subdirectory);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+        // Thumbnails and previews are generated in the background, once per content
+        if (placed) {
+            imageVariantService.generateVariantsAsync(imagePath);
         }
+        return imagePath;
+    }
 
-        // Save file
-        Path filePath = uploadPath.resolve(filename);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Write an uploaded part into the staging directory without copying its bytes
+     * through the heap. The staging directory is also the container's spool directory,
+     * so transferTo(File) delegates to Part.write, which renames a spooled part;
+     * transferTo(Path) would always copy through a stream.
+     * @param file the uploaded file
+     * @return the staged file, to be deleted by the caller
+     * @throws IOException if the file cannot be staged
+     */
+    private Path stage(MultipartFile file) throws IOException {
+        Path staging = Paths.get(stagingDir).toAbsolutePath();
+        Files.createDirectories(staging);
+        Path staged = staging.resolve("upload-" + UUID.randomUUID() + ".part");
+        file.transferTo(staged.toFile());
+        return staged;
+    }
 
-        // Return relative path
-        return uploadDir + "/" + subdirectory + "/" + filename;
+    /**
+     * Hash a file with SHA-256, reading it through a direct buffer.
+     * @param file the file to hash
+     * @return the lowercase hex digest
+     * @throws IOException if the file cannot be read
+     */
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
     }
 
     /**
-     * Delete an image file from the file system.
+     * Release an item's reference to an image, deleting the file and its variants
+     * once no item references it.
+     * Must run in a transaction that only commits after the file is gone: the image row
+     * stays locked meanwhile, so a concurrent upload of the same content either waits and
+     * then stores the file again, or registered its reference first and keeps the file.
      * @param imagePath the path to the image file
      * @throws IOException if file cannot be deleted
      */
-    public void deleteImage(String imagePath) throws IOException {
+    private void deleteImage(String imagePath) throws IOException {
         if (imagePath == null || imagePath.isEmpty()) {
             return;
         }
 
-        Path filePath = Paths.get(imagePath);
-        if (Files.exists(filePath)) {
-            Files.delete(filePath);
+        // Content-addressed images are only removed with their last reference;
+        // paths without a row predate deduplication and belong to a single item
+        if (storedImageRepository.removeReference(imagePath) > 0
+                && storedImageRepository.deleteIfUnreferenced(imagePath) == 0) {
+            return;
+        }
+
+        // The layout migration may have moved the file ahead of its path
+        imageStorage.delete(imagePath);
+        imageVariantService.deleteVariants(imagePath);
+        String sharded = ImageLayout.sharded(imagePath);
+        if (!sharded.equals(imagePath)) {
+            imageStorage.delete(sharded);
+            imageVariantService.deleteVariants(sharded);
+        }
+    }
+
+    /**
+     * Release the images of deleted items.
+     * Runs on the task executor after the deleting transaction commits,
+     * so the request never waits for file I/O and a rollback keeps the files.
+     * Each image is released in its own transaction; a file that cannot be deleted
+     * is left for the orphan collector.
+     * @param event the released image paths
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImagesReleased(ImagesReleasedEvent event) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (String imagePath : event.getImagePaths()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    deleteImage(imagePath);
+                } catch (IOException e) {
+                    log.warn("Could not delete image {}: {}", imagePath, e.getMessage());
+                }
+            });
         }
     }
 }
@@ -0,0 +1,63 @@
+package com.itemrecovery.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Storage backend for uploaded images and their variants.
+ * Keys are the image paths stored on items, e.g. uploads/images/ab/cd/abcd1234.jpg.
+ * The backend is chosen with app.storage.type: "local" keeps files in the upload
+ * directory, "s3" keeps them in an S3-compatible bucket shared by all app nodes.
+ */
+public interface ImageStorage {
+
+    /**
+     * Check whether an object is stored under a key.
+     * @param key the image path
+     * @return true if the object exists
+     * @throws IOException if the backend cannot be reached
+     */
+    boolean exists(String key) throws IOException;
+
+    /**
+     * Store a local file under a key, replacing any existing object.
+     * The file is consumed: it is renamed or uploaded and may no longer exist afterwards.
+     * Readers never see a partially written object.
+     * @param key the image path
+     * @param file the file to store
+     * @throws IOException if the file cannot be stored
+     */
+    void store(String key, Path file) throws IOException;
+
+    /**
+     * Get a local file with an object's contents, e.g. to decode it.
+     * The file must only be read; it may be the stored file itself or a cached copy.
+     * @param key the image path
+     * @return a readable file, or null if nothing is stored under the key
+     * @throws IOException if the object cannot be retrieved
+     */
+    Path fetch(String key) throws IOException;
+
+    /**
+     * Mark an existing object as recently used, so the orphan collector's grace
+     * period starts again. Does nothing on backends without orphan collection.
+     * @param key the image path
+     * @throws IOException if the object cannot be updated
+     */
+    void touch(String key) throws IOException;
+
+    /**
+     * Move an object to another key. Does nothing if the source does not exist.
+     * @param sourceKey the current image path
+     * @param targetKey the new image path
+     * @throws IOException if the object cannot be moved
+     */
+    void move(String sourceKey, String targetKey) throws IOException;
+
+    /**
+     * Delete an object. Does nothing if it does not exist.
+     * @param key the image path
+     * @throws IOException if the object exists but cannot be deleted
+     */
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,352 @@
+package com.itemrecovery.service;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Image decoding, orientation, scaling and JPEG encoding helpers
+ * shared by the image services. Uses only the JDK's ImageIO and Java2D.
+ */
+final class ImageTransforms {
+
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+    private ImageTransforms() {
+    }
+
+    /**
+     * Decode an image, letting the decoder skip pixels when the image is much
+     * larger than needed. Decoding a 12 megapixel photo at full size costs
+     * ~48MB of heap, subsampled by 2 only a quarter of that.
+     * @param file the image file
+     * @param maxSize the largest edge the caller needs
+     * @return the decoded image, or null if the format is not supported
+     * @throws IOException if the file cannot be read or decoded
+     */
+    static BufferedImage read(Path file, int maxSize) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                // Keep at least twice the target resolution so the final scaling step stays sharp
+                int subsampling = Math.max(1, longestEdge / (maxSize * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Read the EXIF orientation of a JPEG file.
+     * @param file the image file
+     * @return the orientation (1-8), or 1 if the file has none
+     */
+    static int readOrientation(Path file) {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1; // not a JPEG
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA) {
+                    return 1; // image data starts, no EXIF block seen
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (marker == 0xFFE1 && length > 14) {
+                    byte[] segment = new byte[length];
+                    in.readFully(segment);
+                    if (segment[0] == 'E' && segment[1] == 'x' && segment[2] == 'i' && segment[3] == 'f') {
+                        return orientationFromTiff(segment, 6);
+                    }
+                } else {
+                    skipFully(in, length);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * Find the orientation tag in IFD0 of the TIFF structure inside an EXIF segment.
+     */
+    private static int orientationFromTiff(byte[] data, int tiffStart) {
+        boolean littleEndian = data[tiffStart] == 'I';
+        int ifdOffset = readInt(data, tiffStart + 4, littleEndian);
+        int entries = readShort(data, tiffStart + ifdOffset, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = tiffStart + ifdOffset + 2 + i * 12;
+            if (readShort(data, entry, littleEndian) == EXIF_ORIENTATION_TAG) {
+                int orientation = readShort(data, entry + 8, littleEndian);
+                return orientation >= 1 && orientation <= 8 ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Rotate and/or flip an image so it displays upright for the given EXIF orientation.
+     * @param image the decoded image
+     * @param orientation the EXIF orientation (1-8)
+     * @return the upright image
+     */
+    static BufferedImage applyOrientation(BufferedImage image, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        boolean swap = orientation >= 5;
+        AffineTransform t = new AffineTransform();
+        switch (orientation) {
+            case 2 -> { t.translate(w, 0); t.scale(-1, 1); }
+            case 3 -> { t.translate(w, h); t.rotate(Math.PI); }
+            case 4 -> { t.translate(0, h); t.scale(1, -1); }
+            case 5 -> { t.rotate(-Math.PI / 2); t.scale(-1, 1); }
+            case 6 -> { t.translate(h, 0); t.rotate(Math.PI / 2); }
+            case 7 -> { t.scale(-1, 1); t.translate(-h, 0); t.translate(0, w); t.rotate(3 * Math.PI / 2); }
+            case 8 -> { t.translate(0, w); t.rotate(3 * Math.PI / 2); }
+            default -> { }
+        }
+        BufferedImage result = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = result.createGraphics();
+        try {
+            g.drawImage(image, t, null);
+        } finally {
+            g.dispose();
+        }
+        return result;
+    }
+
+    /**
+     * Scale an image down so its longest edge is at most maxSize.
+     * Halves repeatedly with bilinear filtering, which is much sharper than a
+     * single large bilinear step. Images already small enough are returned as RGB.
+     * @param image the source image
+     * @param maxSize the largest allowed edge
+     * @return the scaled RGB image
+     */
+    static BufferedImage scaleToFit(BufferedImage image, int maxSize) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(w, h));
+        int targetW = Math.max(1, (int) Math.round(w * scale));
+        int targetH = Math.max(1, (int) Math.round(h * scale));
+
+        BufferedImage current = toRgb(image);
+        while (current.getWidth() != targetW || current.getHeight() != targetH) {
+            int nextW = Math.max(targetW, current.getWidth() / 2);
+            int nextH = Math.max(targetH, current.getHeight() / 2);
+            BufferedImage next = new BufferedImage(nextW, nextH, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, nextW, nextH, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    /**
+     * Encode an image as JPEG. ImageIO writes a bare JFIF stream, so no EXIF or
+     * other metadata from the original is carried over.
+     * @param image the image
+     * @param target the file to write
+     * @param quality JPEG quality between 0 and 1
+     * @throws IOException if the file cannot be written
+     */
+    static void writeJpeg(BufferedImage image, Path target, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(Files.newOutputStream(target))) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(toRgb(image), null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Copy a JPEG file without its metadata segments: APP1-APP15 (EXIF, GPS position,
+     * XMP, ICC and maker data) and COM. Adobe's APP14 marker only describes the color
+     * transform and is kept, so CMYK files still render correctly; so is JFIF's APP0.
+     * Anything after the end-of-image marker is dropped. Used for JPEGs the decoder
+     * rejects, which cannot be re-encoded instead.
+     * @param source the uploaded file
+     * @param target the file to write
+     * @return false if the source is not a JPEG file
+     * @throws IOException if the file cannot be read or written, or a segment header is truncated
+     */
+    static boolean stripMetadata(Path source, Path target) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)));
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+            if (in.read() != 0xFF || in.read() != 0xD8) {
+                return false;
+            }
+            out.write(0xFF);
+            out.write(0xD8);
+            int marker = nextMarker(in);
+            while (marker != -1 && marker != 0xD9) {
+                if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                    // Markers without a length
+                    out.write(0xFF);
+                    out.write(marker);
+                    marker = nextMarker(in);
+                    continue;
+                }
+                int length = in.readUnsignedShort();
+                if (length < 2) {
+                    throw new IIOException("Invalid JPEG segment length " + length);
+                }
+                byte[] payload = new byte[length - 2];
+                in.readFully(payload);
+                if (!isMetadataSegment(marker, payload)) {
+                    out.write(0xFF);
+                    out.write(marker);
+                    out.write(length >> 8);
+                    out.write(length);
+                    out.write(payload);
+                }
+                marker = marker == 0xDA ? copyScan(in, out) : nextMarker(in);
+            }
+            // A truncated file is closed off, so it renders as far as it goes
+            out.write(0xFF);
+            out.write(0xD9);
+        }
+        return true;
+    }
+
+    private static boolean isMetadataSegment(int marker, byte[] payload) {
+        if (marker == 0xFE) {
+            return true;
+        }
+        if (marker == 0xEE) {
+            return !(payload.length >= 5 && new String(payload, 0, 5, StandardCharsets.US_ASCII).equals("Adobe"));
+        }
+        return marker >= 0xE1 && marker <= 0xEF;
+    }
+
+    /**
+     * Skip to the next marker, returning its code, or -1 at the end of the file.
+     */
+    private static int nextMarker(InputStream in) throws IOException {
+        int b;
+        do {
+            b = in.read();
+        } while (b != -1 && b != 0xFF);
+        while (b == 0xFF) {
+            b = in.read();
+        }
+        return b;
+    }
+
+    /**
+     * Copy entropy-coded scan data up to the next marker, returning its code, or -1
+     * at the end of the file. Stuffed zero bytes and restart markers belong to the scan.
+     */
+    private static int copyScan(InputStream in, OutputStream out) throws IOException {
+        int b = in.read();
+        while (b != -1) {
+            if (b != 0xFF) {
+                out.write(b);
+                b = in.read();
+                continue;
+            }
+            do {
+                b = in.read();
+            } while (b == 0xFF);
+            if (b == 0x00 || (b >= 0xD0 && b <= 0xD7)) {
+                out.write(0xFF);
+                out.write(b);
+                b = in.read();
+            } else {
+                return b;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Convert to an opaque RGB image; transparent areas become white.
+     */
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(java.awt.Color.WHITE);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private static void skipFully(InputStream in, int length) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                throw new EOFException();
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static int readShort(byte[] data, int offset, boolean littleEndian) {
+        int b0 = data[offset] & 0xFF;
+        int b1 = data[offset + 1] & 0xFF;
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static int readInt(byte[] data, int offset, boolean littleEndian) {
+        int b0 = data[offset] & 0xFF;
+        int b1 = data[offset + 1] & 0xFF;
+        int b2 = data[offset + 2] & 0xFF;
+        int b3 = data[offset + 3] & 0xFF;
+        return littleEndian ? (b3 << 24) | (b2 << 16) | (b1 << 8) | b0
+                            : (b0 << 24) | (b1 << 16) | (b2 << 8) | b3;
+    }
+}
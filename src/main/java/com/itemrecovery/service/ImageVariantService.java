@@ -0,0 +1,108 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.model.ImageVariant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Service generating thumbnail and preview variants of uploaded images.
+ * Work is handed to a small bounded executor so uploads return immediately;
+ * until a variant exists, pages fall back to the original image.
+ */
+@Service
+public class ImageVariantService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+    
+    private static final float JPEG_QUALITY = 0.82f;
+    
+    @Autowired
+    @Qualifier("imageProcessingExecutor")
+    private TaskExecutor imageProcessingExecutor;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Value("${spring.servlet.multipart.location:upload-staging}")
+    private String stagingDir;
+
+    /**
+     * Queue variant generation for a stored image.
+     * If the queue is full the image is skipped and served at full size.
+     * @param imagePath the stored image path
+     */
+    public void generateVariantsAsync(String imagePath) {
+        try {
+            imageProcessingExecutor.execute(() -> generateVariants(imagePath));
+        } catch (TaskRejectedException e) {
+            log.warn("Image processing queue is full, no variants for {}", imagePath);
+        }
+    }
+
+    /**
+     * Generate all variants of an image.
+     * The original is decoded once; EXIF orientation is applied and metadata is
+     * dropped by re-encoding. Each variant is written to a temporary file and
+     * then stored, so a half-written file is never served.
+     * @param imagePath the stored image path
+     */
+    void generateVariants(String imagePath) {
+        try {
+            Path original = imageStorage.fetch(imagePath);
+            if (original == null) {
+                log.debug("Image {} is gone, no variants", imagePath);
+                return;
+            }
+            BufferedImage image = ImageTransforms.read(original, ImageVariant.PREVIEW.getMaxSize());
+            if (image == null) {
+                log.debug("Unsupported image format, no variants for {}", imagePath);
+                return;
+            }
+            image = ImageTransforms.applyOrientation(image, ImageTransforms.readOrientation(original));
+
+            // Largest first, so each smaller variant is scaled from the previous one
+            BufferedImage preview = ImageTransforms.scaleToFit(image, ImageVariant.PREVIEW.getMaxSize());
+            write(preview, ImageVariant.PREVIEW.pathFor(imagePath));
+            BufferedImage thumbnail = ImageTransforms.scaleToFit(preview, ImageVariant.THUMBNAIL.getMaxSize());
+            write(thumbnail, ImageVariant.THUMBNAIL.pathFor(imagePath));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not generate variants for {}: {}", imagePath, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete all variants of an image.
+     * @param imagePath the stored image path
+     * @throws IOException if a variant exists but cannot be deleted
+     */
+    public void deleteVariants(String imagePath) throws IOException {
+        for (ImageVariant variant : ImageVariant.values()) {
+            imageStorage.delete(variant.pathFor(imagePath));
+        }
+    }
+
+    private void write(BufferedImage image, String variantPath) throws IOException {
+        // Encoded next to the upload staging area, so local storage can rename it into place
+        Path staging = Paths.get(stagingDir).toAbsolutePath();
+        Files.createDirectories(staging);
+        Path temp = Files.createTempFile(staging, ".variant-", ".tmp");
+        try {
+            ImageTransforms.writeJpeg(image, temp, JPEG_QUALITY);
+            imageStorage.store(variantPath, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.itemrecovery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itemrecovery.dto.ItemResponse;
+import com.itemrecovery.model.FoundItem;
+import com.itemrecovery.model.LostItem;
+import com.itemrecovery.repository.FoundItemRepository;
+import com.itemrecovery.repository.LostItemRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Service for exporting lost and found items as CSV or NDJSON.
+ * Items are read through a database cursor and written as they arrive,
+ * so memory use does not grow with the size of the tables.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ItemExportService {
+    
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    // Matches the repository fetch size so the persistence context is cleared once per block
+    private static final int CLEAR_INTERVAL = 500;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private LostItemRepository lostItemRepository;
+    
+    @Autowired
+    private FoundItemRepository foundItemRepository;
+    
+    @Autowired
+    private LostItemService lostItemService;
+    
+    @Autowired
+    private FoundItemService foundItemService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Write all lost items to the output stream.
+     * @param out the target stream (not closed)
+     * @param format the export format
+     * @throws IOException if the stream cannot be written
+     */
+    public void exportLostItems(OutputStream out, Format format) throws IOException {
+        try (Stream<LostItem> items = lostItemRepository.streamAllWithUser()) {
+            write(items.iterator(), lostItemService::toItemResponse, out, format);
+        }
+    }
+
+    /**
+     * Write all found items to the output stream.
+     * @param out the target stream (not closed)
+     * @param format the export format
+     * @throws IOException if the stream cannot be written
+     */
+    public void exportFoundItems(OutputStream out, Format format) throws IOException {
+        try (Stream<FoundItem> items = foundItemRepository.streamAllWithUser()) {
+            write(items.iterator(), foundItemService::toItemResponse, out, format);
+        }
+    }
+
+    /**
+     * Write items one by one, clearing the persistence context periodically
+     * so loaded entities can be garbage collected.
+     * @param items the item cursor
+     * @param mapper converts an entity to its DTO
+     * @param out the target stream
+     * @param format the export format
+     * @throws IOException if the stream cannot be written
+     */
+    private <T> void write(Iterator<T> items, Function<T, ItemResponse> mapper,
+                           OutputStream out, Format format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            CsvFormat.writeRecord(writer, "id", "type", "name", "description", "date",
+                    "location", "contact", "status", "username", "image_path");
+        }
+
+        int written = 0;
+        while (items.hasNext()) {
+            ItemResponse item = mapper.apply(items.next());
+            if (format == Format.CSV) {
+                CsvFormat.writeRecord(writer, item.getId(), item.getItemType(), item.getName(),
+                        item.getDescription(), item.getDate(), item.getLocation(), item.getContact(),
+                        item.getStatus(), item.getUsername(), item.getImagePath());
+            } else {
+                writer.write(objectMapper.writeValueAsString(item));
+                writer.write('\n');
+            }
+
+            if (++written % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,57 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.dto.ItemFeedCursor;
+import com.itemrecovery.dto.ItemFeedPage;
+import com.itemrecovery.dto.ItemResponse;
+import com.itemrecovery.model.ItemStatus;
+import com.itemrecovery.repository.ItemFeedRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Service for the unified admin item feed.
+ * Pages through lost and found items together, newest first.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ItemFeedService {
+    
+    public static final int PAGE_SIZE = 50;
+    
+    @Autowired
+    private ItemFeedRepository itemFeedRepository;
+
+    /**
+     * Get one page of the feed.
+     * @param itemType "lost", "found", or null/blank for both
+     * @param status the status to filter by, or null for any
+     * @param location location substring to filter by, or null/blank for any
+     * @param cursor the encoded cursor of the previous page, or null/blank for the first page
+     * @return the page of items
+     * @throws IllegalArgumentException if the item type or cursor is invalid
+     */
+    public ItemFeedPage getPage(String itemType, ItemStatus status, String location, String cursor) {
+        String type = null;
+        if (itemType != null && !itemType.isBlank()) {
+            type = itemType.trim().toUpperCase(Locale.ROOT);
+            if (!"LOST".equals(type) && !"FOUND".equals(type)) {
+                throw new IllegalArgumentException("Unknown item type: " + itemType);
+            }
+        }
+        String locationFilter = location == null || location.isBlank() ? null : location.trim();
+        ItemFeedCursor after = cursor == null || cursor.isBlank() ? null : ItemFeedCursor.parse(cursor);
+
+        // Fetch one extra row to learn whether another page exists
+        List<ItemResponse> items = itemFeedRepository.findPage(type, status, locationFilter, after, PAGE_SIZE + 1);
+        String nextCursor = null;
+        if (items.size() > PAGE_SIZE) {
+            items = items.subList(0, PAGE_SIZE);
+            nextCursor = ItemFeedCursor.after(items.get(PAGE_SIZE - 1)).encode();
+        }
+        return new ItemFeedPage(items, nextCursor);
+    }
+}
@@ -0,0 +1,340 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.dto.FacetCount;
+import com.itemrecovery.event.ItemLifecycleEvent;
+import com.itemrecovery.model.ItemStatus;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory bitmap index over lost and found items.
+ * Every item is a document whose ID packs the item ID and type ({@code id << 1 | found});
+ * each facet value and each word maps to a compressed bitmap of documents, so filters are
+ * bitmap intersections and facet counts are intersection cardinalities.
+ * Location facets are counted by walking the matching documents when that is cheaper than
+ * intersecting with every location bitmap, which it is for all but the largest result sets
+ * when locations are many and varied.
+ * Removed documents are only cleared from the live bitmap; their stale entries in the other
+ * bitmaps are masked out by it and disappear when the index is rebuilt.
+ * Thread-safe: queries share a read lock, updates take the write lock.
+ */
+final class ItemSearchIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int MIN_WORD_LENGTH = 2;
+
+    // Walk the documents unless there are this many times more of them than locations
+    private static final int WALK_FACTOR = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final RoaringBitmap lost = new RoaringBitmap();
+    private final RoaringBitmap found = new RoaringBitmap();
+    private final Map<ItemStatus, RoaringBitmap> byStatus = new EnumMap<>(ItemStatus.class);
+    private final Map<String, RoaringBitmap> byLocation = new HashMap<>();
+    private final Map<String, String> locationLabels = new HashMap<>();
+    // Location of each document as an ordinal into locationKeys, plus one (0 = none)
+    private final Map<String, Integer> locationOrdinals = new HashMap<>();
+    private final List<String> locationKeys = new ArrayList<>();
+    private int[] documentLocations = new int[1024];
+    private final TreeMap<LocalDate, RoaringBitmap> byDay = new TreeMap<>();
+    private final TreeMap<LocalDate, RoaringBitmap> byWeek = new TreeMap<>();
+    private final TreeMap<String, RoaringBitmap> byWord = new TreeMap<>();
+
+    /**
+     * Apply an item lifecycle change.
+     * CREATED events are idempotent, so a change seen both during and after a rebuild is harmless.
+     * @param event the lifecycle event
+     */
+    void apply(ItemLifecycleEvent event) {
+        int doc = documentId(event.getItemType(), event.getItemId());
+        if (doc < 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            switch (event.getKind()) {
+                case CREATED -> add(doc, event);
+                case STATUS_CHANGED -> {
+                    if (event.getPreviousStatus() != null) {
+                        bitmap(byStatus, event.getPreviousStatus()).remove(doc);
+                    }
+                    bitmap(byStatus, event.getStatus()).add(doc);
+                }
+                case DELETED -> live.remove(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove items, e.g. after they were archived.
+     * @param itemType "LOST" or "FOUND"
+     * @param itemIds the item IDs
+     */
+    void remove(String itemType, Collection<Long> itemIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long itemId : itemIds) {
+                int doc = documentId(itemType, itemId);
+                if (doc >= 0) {
+                    live.remove(doc);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Run a search.
+     * @param query the search criteria, already normalized
+     * @param maxLocations maximum number of location facet values to return
+     * @param maxWeeks maximum number of week facet values to return
+     * @return matching documents and facet counts
+     */
+    Hits search(Query query, int maxLocations, int maxWeeks) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = live.clone();
+            if (query.itemType != null) {
+                base.and("LOST".equals(query.itemType) ? lost : found);
+            }
+            for (int i = 0; i < query.words.size(); i++) {
+                // The last word may still be being typed, so it matches as a prefix
+                boolean prefix = i == query.words.size() - 1;
+                String word = query.words.get(i);
+                base.and(prefix ? wordPrefix(word) : byWord.getOrDefault(word, new RoaringBitmap()));
+            }
+
+            RoaringBitmap statusFilter = null;
+            if (!query.statuses.isEmpty()) {
+                List<RoaringBitmap> selected = new ArrayList<>();
+                for (ItemStatus status : query.statuses) {
+                    selected.add(byStatus.getOrDefault(status, new RoaringBitmap()));
+                }
+                statusFilter = FastAggregation.or(selected.iterator());
+            }
+            RoaringBitmap locationFilter = query.location == null ? null
+                    : byLocation.getOrDefault(query.location, new RoaringBitmap());
+            RoaringBitmap dateFilter = null;
+            if (query.from != null || query.to != null) {
+                LocalDate from = query.from != null ? query.from : LocalDate.MIN;
+                LocalDate to = query.to != null ? query.to : LocalDate.MAX;
+                dateFilter = FastAggregation.or(byDay.subMap(from, true, to, true).values().iterator());
+            }
+
+            Hits hits = new Hits();
+            hits.documents = intersect(base, statusFilter, locationFilter, dateFilter);
+
+            RoaringBitmap withoutStatus = intersect(base, null, locationFilter, dateFilter);
+            for (ItemStatus status : ItemStatus.values()) {
+                RoaringBitmap values = byStatus.get(status);
+                long count = values == null ? 0 : RoaringBitmap.andCardinality(withoutStatus, values);
+                hits.statusFacets.add(new FacetCount(status.name(), status.name(), count));
+            }
+
+            RoaringBitmap withoutLocation = intersect(base, statusFilter, null, dateFilter);
+            if (withoutLocation.getLongCardinality() < (long) locationKeys.size() * WALK_FACTOR) {
+                long[] counts = new long[locationKeys.size() + 1];
+                int[] locations = documentLocations;
+                withoutLocation.forEach((int doc) -> counts[locations[doc]]++);
+                for (int ordinal = 1; ordinal < counts.length; ordinal++) {
+                    if (counts[ordinal] > 0) {
+                        String key = locationKeys.get(ordinal - 1);
+                        hits.locationFacets.add(new FacetCount(key, locationLabels.get(key), counts[ordinal]));
+                    }
+                }
+            } else {
+                for (Map.Entry<String, RoaringBitmap> entry : byLocation.entrySet()) {
+                    long count = RoaringBitmap.andCardinality(withoutLocation, entry.getValue());
+                    if (count > 0) {
+                        hits.locationFacets.add(new FacetCount(entry.getKey(), locationLabels.get(entry.getKey()), count));
+                    }
+                }
+            }
+            hits.locationFacets.sort(Comparator.comparingLong(FacetCount::getCount).reversed()
+                    .thenComparing(FacetCount::getValue));
+            if (hits.locationFacets.size() > maxLocations) {
+                hits.locationFacets = new ArrayList<>(hits.locationFacets.subList(0, maxLocations));
+            }
+
+            RoaringBitmap withoutDate = intersect(base, statusFilter, locationFilter, null);
+            for (Map.Entry<LocalDate, RoaringBitmap> entry : byWeek.descendingMap().entrySet()) {
+                long count = RoaringBitmap.andCardinality(withoutDate, entry.getValue());
+                if (count > 0) {
+                    String week = entry.getKey().toString();
+                    hits.weekFacets.add(new FacetCount(week, "Week of " + week, count));
+                    if (hits.weekFacets.size() == maxWeeks) {
+                        break;
+                    }
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank matching documents by date, most recent first, and return one page of them.
+     * Days are walked newest first and whole days before the page are skipped by their
+     * intersection counts; documents on the same day are ranked by descending ID, i.e.
+     * the later report first.
+     * @param documents the matching documents, as returned by {@link #search}
+     * @param offset the number of documents before the page
+     * @param limit the page size
+     * @return the document IDs on the page, in rank order
+     */
+    List<Integer> page(RoaringBitmap documents, long offset, int limit) {
+        List<Integer> page = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            long skip = offset;
+            for (RoaringBitmap day : byDay.descendingMap().values()) {
+                long count = RoaringBitmap.andCardinality(documents, day);
+                if (skip >= count) {
+                    skip -= count;
+                    continue;
+                }
+                RoaringBitmap onDay = RoaringBitmap.and(documents, day);
+                for (long rank = count - 1 - skip; rank >= 0 && page.size() < limit; rank--) {
+                    page.add(onDay.select((int) rank));
+                }
+                skip = 0;
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return page;
+    }
+
+    private void add(int doc, ItemLifecycleEvent event) {
+        live.add(doc);
+        ("LOST".equals(event.getItemType()) ? lost : found).add(doc);
+        bitmap(byStatus, event.getStatus()).add(doc);
+        String location = normalizeLocation(event.getLocation());
+        bitmap(byLocation, location).add(doc);
+        if (locationLabels.putIfAbsent(location, event.getLocation().trim()) == null) {
+            locationKeys.add(location);
+            locationOrdinals.put(location, locationKeys.size());
+        }
+        if (doc >= documentLocations.length) {
+            documentLocations = Arrays.copyOf(documentLocations, Math.max(doc + 1, documentLocations.length * 2));
+        }
+        documentLocations[doc] = locationOrdinals.get(location);
+        bitmap(byDay, event.getDate()).add(doc);
+        bitmap(byWeek, weekOf(event.getDate())).add(doc);
+        for (String word : words(event.getName() + " " + event.getDescription() + " " + event.getLocation())) {
+            bitmap(byWord, word).add(doc);
+        }
+    }
+
+    private RoaringBitmap wordPrefix(String prefix) {
+        Collection<RoaringBitmap> matches = byWord.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        return FastAggregation.or(matches.iterator());
+    }
+
+    private static RoaringBitmap intersect(RoaringBitmap base, RoaringBitmap... filters) {
+        RoaringBitmap result = base;
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) {
+                result = RoaringBitmap.and(result, filter);
+            }
+        }
+        return result;
+    }
+
+    private static <K> RoaringBitmap bitmap(Map<K, RoaringBitmap> index, K key) {
+        return index.computeIfAbsent(key, k -> new RoaringBitmap());
+    }
+
+    /**
+     * Pack an item into a document ID.
+     * @param itemType "LOST" or "FOUND"
+     * @param itemId the item ID
+     * @return the document ID, or -1 if the item ID is too large to be indexed
+     */
+    static int documentId(String itemType, long itemId) {
+        if (itemId < 0 || itemId > Integer.MAX_VALUE >> 1) {
+            return -1;
+        }
+        return (int) (itemId << 1) | ("FOUND".equals(itemType) ? 1 : 0);
+    }
+
+    static String itemType(int doc) {
+        return (doc & 1) == 1 ? "FOUND" : "LOST";
+    }
+
+    static long itemId(int doc) {
+        return doc >>> 1;
+    }
+
+    static LocalDate weekOf(LocalDate date) {
+        return date.with(DayOfWeek.MONDAY);
+    }
+
+    static String normalizeLocation(String location) {
+        return location.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Split text into lowercase words, dropping very short ones.
+     * @param text the text
+     * @return the distinct words
+     */
+    static List<String> words(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (word.length() >= MIN_WORD_LENGTH) {
+                words.add(word);
+            }
+        }
+        return new ArrayList<>(words);
+    }
+
+    /**
+     * Normalized search criteria.
+     */
+    static final class Query {
+        String itemType;
+        List<String> words = List.of();
+        List<ItemStatus> statuses = List.of();
+        String location;
+        LocalDate from;
+        LocalDate to;
+    }
+
+    /**
+     * Matching documents and facet counts.
+     */
+    static final class Hits {
+        RoaringBitmap documents;
+        List<FacetCount> statusFacets = new ArrayList<>();
+        List<FacetCount> locationFacets = new ArrayList<>();
+        List<FacetCount> weekFacets = new ArrayList<>();
+    }
+}
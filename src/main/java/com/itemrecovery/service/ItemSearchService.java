@@ -0,0 +1,241 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.dto.ItemResponse;
+import com.itemrecovery.dto.ItemSearchRequest;
+import com.itemrecovery.dto.ItemSearchResult;
+import com.itemrecovery.event.ItemLifecycleEvent;
+import com.itemrecovery.event.ItemsArchivedEvent;
+import com.itemrecovery.repository.ItemFeedRepository;
+import com.itemrecovery.repository.ItemSearchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service for searching lost and found items with facet counts.
+ * Queries run against an in-memory bitmap index that is loaded at startup and kept
+ * current by item lifecycle events; only the items on the requested page are read
+ * from the database. The index is rebuilt nightly to drop removed items for good.
+ */
+@Service
+public class ItemSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemSearchService.class);
+
+    public static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private ItemSearchRepository itemSearchRepository;
+
+    @Autowired
+    private ItemFeedRepository itemFeedRepository;
+
+    @Value("${app.search.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    @Value("${app.search.max-location-facets:15}")
+    private int maxLocationFacets;
+
+    @Value("${app.search.max-week-facets:12}")
+    private int maxWeekFacets;
+
+    private volatile ItemSearchIndex index = new ItemSearchIndex();
+
+    private volatile boolean ready;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // Changes seen while a rebuild is loading, replayed onto the new index; guarded by this
+    private List<Object> changesDuringRebuild;
+
+    /**
+     * Search items.
+     * @param request the search criteria
+     * @return one page of matching items, most recent dates first, with facet counts
+     * @throws IllegalArgumentException if the item type is invalid
+     */
+    public ItemSearchResult search(ItemSearchRequest request) {
+        ItemSearchIndex.Query query = new ItemSearchIndex.Query();
+        if (request.getType() != null && !request.getType().isBlank()) {
+            query.itemType = request.getType().trim().toUpperCase(Locale.ROOT);
+            if (!"LOST".equals(query.itemType) && !"FOUND".equals(query.itemType)) {
+                throw new IllegalArgumentException("Invalid item type: " + request.getType());
+            }
+        }
+        if (request.getQ() != null) {
+            query.words = ItemSearchIndex.words(request.getQ());
+        }
+        if (request.getStatus() != null) {
+            query.statuses = request.getStatus().stream().filter(Objects::nonNull).toList();
+        }
+        if (request.getLocation() != null && !request.getLocation().isBlank()) {
+            query.location = ItemSearchIndex.normalizeLocation(request.getLocation());
+        }
+        if (request.getWeek() != null) {
+            query.from = ItemSearchIndex.weekOf(request.getWeek());
+            query.to = query.from.plusDays(6);
+        } else {
+            query.from = request.getFrom();
+            query.to = request.getTo();
+        }
+
+        // Rank with the index that matched, even if a rebuild swaps it meanwhile
+        ItemSearchIndex searched = index;
+        ItemSearchIndex.Hits hits = searched.search(query, maxLocationFacets, maxWeekFacets);
+
+        int page = Math.max(request.getPage(), 0);
+        ItemSearchResult result = new ItemSearchResult();
+        result.setItems(loadPage(searched.page(hits.documents, (long) page * PAGE_SIZE, PAGE_SIZE)));
+        result.setTotal(hits.documents.getLongCardinality());
+        result.setPage(page);
+        result.setPageSize(PAGE_SIZE);
+        result.setStatusFacets(hits.statusFacets);
+        result.setLocationFacets(hits.locationFacets);
+        result.setWeekFacets(hits.weekFacets);
+        result.setReady(ready);
+        return result;
+    }
+
+    /**
+     * Apply an item lifecycle change to the index after its transaction commits.
+     * @param event the lifecycle event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemLifecycle(ItemLifecycleEvent event) {
+        currentIndex(event).apply(event);
+    }
+
+    /**
+     * Drop archived items from the index after the archive batch commits.
+     * @param event the archived event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsArchived(ItemsArchivedEvent event) {
+        currentIndex(event).remove(event.getItemType(), event.getItemIds());
+    }
+
+    /**
+     * Load the index once the application has started.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the index from the item tables and swap it in.
+     * Searches keep using the old index meanwhile; changes that arrive during the
+     * load are recorded and replayed onto the new index before the swap.
+     */
+    @Scheduled(cron = "${app.search.rebuild-cron:0 15 4 * * *}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            long started = System.nanoTime();
+            ItemSearchIndex rebuilt = new ItemSearchIndex();
+            long items = load(rebuilt, "LOST") + load(rebuilt, "FOUND");
+            synchronized (this) {
+                for (Object change : changesDuringRebuild) {
+                    if (change instanceof ItemLifecycleEvent event) {
+                        rebuilt.apply(event);
+                    } else if (change instanceof ItemsArchivedEvent event) {
+                        rebuilt.remove(event.getItemType(), event.getItemIds());
+                    }
+                }
+                changesDuringRebuild = null;
+                index = rebuilt;
+            }
+            ready = true;
+            log.info("Loaded search index with {} items in {} ms", items, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+            log.error("Failed to rebuild the search index", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Record a change if a rebuild is loading, and return the index to apply it to now.
+     * @param change the lifecycle or archived event
+     * @return the index searches currently use
+     */
+    private synchronized ItemSearchIndex currentIndex(Object change) {
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+        return index;
+    }
+
+    /**
+     * Load all items of one type into an index.
+     * @param target the index to fill
+     * @param itemType "LOST" or "FOUND"
+     * @return number of items loaded
+     */
+    private long load(ItemSearchIndex target, String itemType) {
+        long loaded = 0;
+        long afterId = 0;
+        while (true) {
+            List<ItemLifecycleEvent> batch = itemSearchRepository.findIndexBatch(itemType, afterId, loadBatchSize);
+            for (ItemLifecycleEvent item : batch) {
+                target.apply(item);
+            }
+            loaded += batch.size();
+            if (batch.size() < loadBatchSize) {
+                return loaded;
+            }
+            afterId = batch.get(batch.size() - 1).getItemId();
+        }
+    }
+
+    /**
+     * Read the items on one page from the database.
+     * @param pageDocuments the documents on the page, in rank order
+     * @return the items, in rank order
+     */
+    private List<ItemResponse> loadPage(List<Integer> pageDocuments) {
+        List<Long> lostIds = new ArrayList<>();
+        List<Long> foundIds = new ArrayList<>();
+        for (int doc : pageDocuments) {
+            ("LOST".equals(ItemSearchIndex.itemType(doc)) ? lostIds : foundIds).add(ItemSearchIndex.itemId(doc));
+        }
+
+        Map<Integer, ItemResponse> byDocument = new HashMap<>();
+        for (ItemResponse item : itemFeedRepository.findByIds(lostIds, foundIds)) {
+            byDocument.put(ItemSearchIndex.documentId(item.getItemType(), item.getId()), item);
+        }
+        List<ItemResponse> items = new ArrayList<>();
+        for (Integer doc : pageDocuments) {
+            ItemResponse item = byDocument.get(doc);
+            // Missing if it was removed after the search ran
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,203 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.dto.StatusCountRow;
+import com.itemrecovery.event.ItemLifecycleEvent;
+import com.itemrecovery.model.ItemStatus;
+import com.itemrecovery.repository.ArchivedItemRepository;
+import com.itemrecovery.repository.FoundItemRepository;
+import com.itemrecovery.repository.LostItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service maintaining item counts per status, per day and per location.
+ * Counters are striped (LongAdder) and updated from item lifecycle events once
+ * the originating transaction commits, so reads never touch the database.
+ * A periodic reconciliation rebuilds them from the tables to correct drift.
+ */
+@Service
+public class ItemStatsService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ItemStatsService.class);
+    
+    @Autowired
+    private LostItemRepository lostItemRepository;
+    
+    @Autowired
+    private FoundItemRepository foundItemRepository;
+    
+    @Autowired
+    private ArchivedItemRepository archivedItemRepository;
+    
+    private volatile Counters counters = new Counters();
+
+    /**
+     * Apply an item lifecycle change to the counters after its transaction commits.
+     * @param event the lifecycle event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemLifecycle(ItemLifecycleEvent event) {
+        Counters current = counters;
+        if (event.getPreviousStatus() != null) {
+            current.add(event.getPreviousStatus(), event.getDate(), event.getLocation(), -1);
+        }
+        if (event.getStatus() != null) {
+            current.add(event.getStatus(), event.getDate(), event.getLocation(), 1);
+        }
+    }
+
+    /**
+     * Rebuild the counters from the item tables, archive included.
+     * Runs at startup and then periodically; the new counters replace the old
+     * ones in a single swap so readers never see a partial rebuild.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:PT10M}",
+               initialDelayString = "${app.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        Counters rebuilt = new Counters();
+        for (Object[] row : lostItemRepository.countByStatusDateAndLocation()) {
+            rebuilt.add((ItemStatus) row[0], (LocalDate) row[1], (String) row[2], (Long) row[3]);
+        }
+        for (Object[] row : foundItemRepository.countByStatusDateAndLocation()) {
+            rebuilt.add((ItemStatus) row[0], (LocalDate) row[1], (String) row[2], (Long) row[3]);
+        }
+        // Archiving moves items without changing them, so archived items keep counting
+        for (Object[] row : archivedItemRepository.countByStatusDateAndLocation()) {
+            rebuilt.add((ItemStatus) row[0], (LocalDate) row[1], (String) row[2], (Long) row[3]);
+        }
+
+        Counters previous = counters;
+        counters = rebuilt;
+        for (ItemStatus status : ItemStatus.values()) {
+            long drift = previous.totals.get(status).sum() - rebuilt.totals.get(status).sum();
+            if (drift != 0) {
+                log.info("Status counter for {} drifted by {}, corrected", status, drift);
+            }
+        }
+    }
+
+    /**
+     * Get the number of items with a status.
+     * @param status the status
+     * @return the item count
+     */
+    public long getTotal(ItemStatus status) {
+        return counters.totals.get(status).sum();
+    }
+
+    /**
+     * Get the number of items with a status on a day.
+     * @param status the status
+     * @param date the day
+     * @return the item count
+     */
+    public long getCount(ItemStatus status, LocalDate date) {
+        Map<ItemStatus, LongAdder> bucket = counters.byDay.get(date);
+        return bucket == null ? 0 : bucket.get(status).sum();
+    }
+
+    /**
+     * Get the number of items with a status at a location.
+     * Locations are compared case-insensitively.
+     * @param status the status
+     * @param location the location
+     * @return the item count
+     */
+    public long getCountAtLocation(ItemStatus status, String location) {
+        Map<ItemStatus, LongAdder> bucket = counters.byLocation.get(normalizeLocation(location));
+        return bucket == null ? 0 : bucket.get(status).sum();
+    }
+
+    /**
+     * Get the number of items per status.
+     * @return the totals row
+     */
+    public StatusCountRow getTotals() {
+        return toRow("All items", counters.totals);
+    }
+
+    /**
+     * Get counts per status for each of the last days, most recent first.
+     * @param days number of days to include
+     * @return one row per day
+     */
+    public List<StatusCountRow> getDailyCounts(int days) {
+        Map<LocalDate, Map<ItemStatus, LongAdder>> byDay = counters.byDay;
+        List<StatusCountRow> rows = new ArrayList<>(days);
+        LocalDate day = LocalDate.now();
+        for (int i = 0; i < days; i++, day = day.minusDays(1)) {
+            Map<ItemStatus, LongAdder> bucket = byDay.get(day);
+            rows.add(bucket == null ? new StatusCountRow(day.toString()) : toRow(day.toString(), bucket));
+        }
+        return rows;
+    }
+
+    /**
+     * Get counts per status for the busiest locations.
+     * @param limit maximum number of locations
+     * @return one row per location, ordered by total count descending
+     */
+    public List<StatusCountRow> getLocationCounts(int limit) {
+        return counters.byLocation.entrySet().stream()
+                .map(entry -> toRow(entry.getKey(), entry.getValue()))
+                .filter(row -> row.getTotal() > 0)
+                .sorted(Comparator.comparingLong(StatusCountRow::getTotal).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static StatusCountRow toRow(String label, Map<ItemStatus, LongAdder> bucket) {
+        StatusCountRow row = new StatusCountRow(label);
+        bucket.forEach((status, adder) -> row.getCounts().put(status, adder.sum()));
+        return row;
+    }
+
+    private static String normalizeLocation(String location) {
+        return location == null ? "" : location.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static Map<ItemStatus, LongAdder> newBucket() {
+        Map<ItemStatus, LongAdder> bucket = new EnumMap<>(ItemStatus.class);
+        for (ItemStatus status : ItemStatus.values()) {
+            bucket.put(status, new LongAdder());
+        }
+        return bucket;
+    }
+
+    /**
+     * One generation of counters. Buckets are created on first use and never removed;
+     * their adders are updated concurrently without locking.
+     */
+    private static final class Counters {
+        
+        private final Map<ItemStatus, LongAdder> totals = newBucket();
+        private final ConcurrentMap<LocalDate, Map<ItemStatus, LongAdder>> byDay = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Map<ItemStatus, LongAdder>> byLocation = new ConcurrentHashMap<>();
+
+        void add(ItemStatus status, LocalDate date, String location, long delta) {
+            totals.get(status).add(delta);
+            if (date != null) {
+                byDay.computeIfAbsent(date, key -> newBucket()).get(status).add(delta);
+            }
+            byLocation.computeIfAbsent(normalizeLocation(location), key -> newBucket()).get(status).add(delta);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.itemrecovery.service;
+
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded least-recently-used cache of remote images on local disk.
+ * Entries are tracked in an access-ordered map; files beyond the byte budget are
+ * deleted oldest first. The cache directory is emptied on startup, since its index
+ * lives only in memory.
+ */
+class LocalImageCache {
+
+    private final Path directory;
+
+    private final long maxBytes;
+
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes;
+
+    LocalImageCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        FileSystemUtils.deleteRecursively(this.directory);
+        Files.createDirectories(this.directory);
+    }
+
+    /**
+     * Get the cached copy of an object.
+     * @param key the image path
+     * @return the cached file, or null on a miss
+     */
+    synchronized Path get(String key) {
+        Long size = entries.get(key);
+        if (size == null) {
+            return null;
+        }
+        Path file = pathFor(key);
+        if (!Files.exists(file)) {
+            entries.remove(key);
+            totalBytes -= size;
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * Create a temporary file inside the cache directory, so put can rename it.
+     * @return a new empty file
+     * @throws IOException if the file cannot be created
+     */
+    Path createTempFile() throws IOException {
+        return Files.createTempFile(directory, ".download-", ".tmp");
+    }
+
+    /**
+     * Add a file to the cache, taking ownership of it, and evict the least recently
+     * used entries beyond the byte budget.
+     * @param key the image path
+     * @param file the file holding the object's contents
+     * @return the cached file
+     * @throws IOException if the file cannot be moved into the cache
+     */
+    Path put(String key, Path file) throws IOException {
+        Path target = pathFor(key);
+        Files.createDirectories(target.getParent());
+        long size = Files.size(file);
+        try {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // The file is on another filesystem: copy it into the cache first, then rename
+            Path temp = createTempFile();
+            try {
+                Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            Files.deleteIfExists(file);
+        }
+        synchronized (this) {
+            Long previous = entries.put(key, size);
+            totalBytes += size - (previous != null ? previous : 0);
+            evict(key);
+        }
+        return target;
+    }
+
+    /**
+     * Drop an object from the cache.
+     * @param key the image path
+     */
+    synchronized void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+            deleteQuietly(pathFor(key));
+        }
+    }
+
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            it.remove();
+            totalBytes -= eldest.getValue();
+            deleteQuietly(pathFor(eldest.getKey()));
+        }
+    }
+
+    private Path pathFor(String key) {
+        Path file = directory.resolve(key).normalize();
+        if (!file.startsWith(directory)) {
+            throw new IllegalArgumentException("Invalid image key: " + key);
+        }
+        return file;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Left behind until the next startup empties the directory
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.itemrecovery.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+/**
+ * Image storage on the local filesystem, relative to the working directory.
+ * Files are published with atomic renames, so they never copy through the heap
+ * when the staging directory is on the same filesystem.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalImageStorage implements ImageStorage {
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(Paths.get(key));
+    }
+
+    /**
+     * Rename a file into place, or copy it with FileChannel.transferFrom if the
+     * upload directory is on a different filesystem.
+     */
+    @Override
+    public void store(String key, Path file) throws IOException {
+        Path target = Paths.get(key);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            copyAcrossFileSystems(file, target);
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public Path fetch(String key) {
+        Path file = Paths.get(key);
+        return Files.exists(file) ? file : null;
+    }
+
+    @Override
+    public void touch(String key) throws IOException {
+        Path file = Paths.get(key);
+        if (Files.exists(file)) {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        }
+    }
+
+    @Override
+    public void move(String sourceKey, String targetKey) throws IOException {
+        Path source = Paths.get(sourceKey);
+        if (!Files.exists(source)) {
+            return;
+        }
+        Path target = Paths.get(targetKey);
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(Paths.get(key));
+    }
+
+    /**
+     * Copy a file to another filesystem using the kernel's channel-to-channel transfer,
+     * publishing it with a rename so readers never see a partial file.
+     * @param source the source file
+     * @param target the final path
+     * @throws IOException if the file cannot be copied
+     */
+    private void copyAcrossFileSystems(Path source, Path target) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                                StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += out.transferFrom(in, position, size - position);
+            }
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.dto.LocationSuggestion;
+import com.itemrecovery.event.ItemLifecycleEvent;
+import com.itemrecovery.repository.ItemSearchRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Service for location autocomplete.
+ * Suggests known locations, most reported first, from an in-memory trie so users pick
+ * an existing spelling instead of inventing a new one. New reports are counted as they
+ * are created; the trie is rebuilt nightly so deleted items stop counting.
+ */
+@Service
+public class LocationSuggestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationSuggestionService.class);
+
+    @Autowired
+    private ItemSearchRepository itemSearchRepository;
+
+    @Value("${app.locations.max-suggestions:10}")
+    private int maxSuggestions;
+
+    private volatile LocationTrie trie;
+
+    @PostConstruct
+    void init() {
+        trie = new LocationTrie(maxSuggestions);
+    }
+
+    /**
+     * Suggest known locations for typed text.
+     * @param prefix the typed text; matched against the start of each word of a location
+     * @param limit maximum number of suggestions
+     * @return suggestions, most reported first
+     */
+    public List<LocationSuggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return trie.suggest(prefix, Math.max(1, Math.min(limit, maxSuggestions))).stream()
+                .map(entry -> new LocationSuggestion(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Count the location of a newly created item after its transaction commits.
+     * @param event the lifecycle event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemLifecycle(ItemLifecycleEvent event) {
+        if (event.getKind() == ItemLifecycleEvent.Kind.CREATED) {
+            trie.add(event.getLocation(), 1);
+        }
+    }
+
+    /**
+     * Load the trie once the application has started.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the trie from the item tables and swap it in.
+     * An item created while the counting query runs may be missed until the next
+     * rebuild, which only nudges the ranking of its location.
+     */
+    @Scheduled(cron = "${app.locations.rebuild-cron:0 20 4 * * *}")
+    public synchronized void rebuild() {
+        try {
+            long started = System.nanoTime();
+            LocationTrie rebuilt = new LocationTrie(maxSuggestions);
+            itemSearchRepository.forEachLocationCount(rebuilt::add);
+            trie = rebuilt;
+            log.info("Loaded {} locations for autocomplete in {} ms", rebuilt.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild the location autocomplete", e);
+        }
+    }
+}
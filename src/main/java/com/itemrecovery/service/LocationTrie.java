@@ -0,0 +1,254 @@
+package com.itemrecovery.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix trie of known locations, weighted by how often each was reported.
+ * A location is reachable from the start of each of its words, so "lib" finds both
+ * "Library" and "Main Library". Every node caches the top locations of its subtree,
+ * so a lookup is one walk down the prefix and never visits the subtree.
+ * Weights only grow; the trie is rebuilt from the database to account for removals.
+ * Thread-safe: lookups share a read lock, updates take the write lock.
+ */
+final class LocationTrie {
+
+    private static final Comparator<Entry> BY_WEIGHT = Comparator.comparingLong((Entry entry) -> entry.weight)
+            .reversed()
+            .thenComparing(entry -> entry.key);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final int topK;
+
+    private final Node root = new Node("");
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Create an empty trie.
+     * @param topK number of locations cached per node, i.e. the largest lookup limit
+     */
+    LocationTrie(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * Count reports of a location.
+     * Spellings that differ only in case and spacing are one location, shown under
+     * its most frequent spelling.
+     * @param location the location as entered
+     * @param count number of reports to add
+     */
+    void add(String location, long count) {
+        String key = normalize(location);
+        if (key.isEmpty() || count <= 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.computeIfAbsent(key, Entry::new);
+            entry.weight += count;
+            String spelling = location.trim().replaceAll("\\s+", " ");
+            long spellingCount = entry.spellings.merge(spelling, count, Long::sum);
+            if (spellingCount > entry.spellings.getOrDefault(entry.name, 0L)) {
+                entry.name = spelling;
+            }
+            for (int start = 0; start < key.length(); start++) {
+                if (start == 0 || key.charAt(start - 1) == ' ') {
+                    insert(key.substring(start), entry);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the most reported locations with a word starting with a prefix.
+     * @param prefix the typed text
+     * @param limit maximum number of results, at most topK
+     * @return location names and report counts, most reported first
+     */
+    List<Map.Entry<String, Long>> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int matched = 0;
+            while (matched < key.length()) {
+                Node child = node.child(key.charAt(matched));
+                if (child == null) {
+                    return List.of();
+                }
+                int common = commonPrefix(child.label, key, matched);
+                if (matched + common == key.length()) {
+                    node = child;
+                    break;
+                }
+                if (common < child.label.length()) {
+                    return List.of();
+                }
+                matched += common;
+                node = child;
+            }
+            List<Map.Entry<String, Long>> suggestions = new ArrayList<>();
+            for (Entry entry : node.top) {
+                if (suggestions.size() == limit) {
+                    break;
+                }
+                suggestions.add(Map.entry(entry.name, entry.weight));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of distinct locations.
+     * @return number of locations
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String location) {
+        return location.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Insert a key, splitting edges as needed, and rank the entry at every node on its path.
+     * @param key the key, a suffix of the entry's normalized name
+     * @param entry the entry, with its weight already updated
+     */
+    private void insert(String key, Entry entry) {
+        Node node = root;
+        node.rank(entry, topK);
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = node.child(key.charAt(matched));
+            if (child == null) {
+                child = new Node(key.substring(matched));
+                node.addChild(child);
+                child.rank(entry, topK);
+                return;
+            }
+            int common = commonPrefix(child.label, key, matched);
+            if (common < child.label.length()) {
+                // Split the edge; the new node's subtree is exactly the old child's
+                Node middle = new Node(child.label.substring(0, common));
+                middle.top = child.top.clone();
+                child.label = child.label.substring(common);
+                node.replaceChild(middle);
+                middle.addChild(child);
+                child = middle;
+            }
+            child.rank(entry, topK);
+            matched += common;
+            node = child;
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * A location and its report count.
+     */
+    private static final class Entry {
+        final String key;
+        final Map<String, Long> spellings = new HashMap<>();
+        String name;
+        long weight;
+
+        Entry(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * A trie node; the label is the edge from its parent.
+     * Children are kept sorted by the first character of their label.
+     */
+    private static final class Node {
+        String label;
+        char[] firstChars = new char[0];
+        Node[] children = new Node[0];
+        Entry[] top = new Entry[0];
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int index = Arrays.binarySearch(firstChars, first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        void addChild(Node child) {
+            int index = -Arrays.binarySearch(firstChars, child.label.charAt(0)) - 1;
+            char[] chars = new char[firstChars.length + 1];
+            Node[] nodes = new Node[children.length + 1];
+            System.arraycopy(firstChars, 0, chars, 0, index);
+            System.arraycopy(children, 0, nodes, 0, index);
+            chars[index] = child.label.charAt(0);
+            nodes[index] = child;
+            System.arraycopy(firstChars, index, chars, index + 1, firstChars.length - index);
+            System.arraycopy(children, index, nodes, index + 1, children.length - index);
+            firstChars = chars;
+            children = nodes;
+        }
+
+        void replaceChild(Node child) {
+            children[Arrays.binarySearch(firstChars, child.label.charAt(0))] = child;
+        }
+
+        /**
+         * Place an entry whose weight grew among this node's top entries.
+         * @param entry the entry
+         * @param topK maximum number of top entries
+         */
+        void rank(Entry entry, int topK) {
+            int present = -1;
+            for (int i = 0; i < top.length; i++) {
+                if (top[i] == entry) {
+                    present = i;
+                    break;
+                }
+            }
+            if (present < 0) {
+                if (top.length == topK && BY_WEIGHT.compare(entry, top[topK - 1]) >= 0) {
+                    return;
+                }
+                top = Arrays.copyOf(top, Math.min(top.length + 1, topK));
+                present = top.length - 1;
+                top[present] = entry;
+            }
+            // Weights only grow, so the entry can only move up
+            while (present > 0 && BY_WEIGHT.compare(top[present], top[present - 1]) < 0) {
+                Entry swap = top[present - 1];
+                top[present - 1] = top[present];
+                top[present] = swap;
+                present--;
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.itemrecovery.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Email gateway that only logs the emails it is given.
+ * The default for development; set app.notifications.email.type=smtp to send real email.
+ */
+@Service
+@ConditionalOnProperty(name = "app.notifications.email.type", havingValue = "log", matchIfMissing = true)
+public class LoggingEmailGateway implements EmailGateway {
+    
+    private static final Logger log = LoggerFactory.getLogger(LoggingEmailGateway.class);
+
+    @Override
+    public void send(String to, String subject, String body, String idempotencyKey) {
+        log.info("Email [{}] to {}: {}", idempotencyKey, to, subject);
+    }
+}
@@ -1,18 +1,27 @@
 package com.itemrecovery.service;
 
+import com.itemrecovery.dto.BulkItemResult;
 import com.itemrecovery.dto.ItemResponse;
+import com.itemrecovery.event.ImagesReleasedEvent;
+import com.itemrecovery.event.ItemLifecycleEvent;
+import com.itemrecovery.exception.ItemConflictException;
 import com.itemrecovery.model.ItemStatus;
 import com.itemrecovery.model.LostItem;
 import com.itemrecovery.model.User;
 import com.itemrecovery.repository.LostItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +40,15 @@ public class LostItemService {
     
     @Autowired
     private UserService userService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private GazetteerService gazetteerService;
 
     /**
      * Create a new lost item.
@@ -39,13 +57,13 @@ public class LostItemService {
      * @param date date lost
      * @param location location where item was lost
      * @param contact contact details
-     * @param imageFile image file (optional)
+     * @param image the prepared image (optional), see {@link ImageService#prepare}
      * @param userId user ID who reported the item
      * @return the created lost item
      * @throws IOException if image cannot be saved
      */
     public LostItem createLostItem(String name, String description, LocalDate date,
-                                    String location, String contact, MultipartFile imageFile,
+                                    String location, String contact, PreparedImage image,
                                     Long userId) throws IOException {
         User user = userService.findById(userId);
         
@@ -54,17 +72,23 @@ public class LostItemService {
         item.setDescription(description);
         item.setDate(date);
         item.setLocation(location);
+        item.setLocationId(gazetteerService.resolve(location));
+        item.setBuildingId(gazetteerService.buildingOf(item.getLocationId()));
         item.setContact(contact);
         item.setStatus(ItemStatus.LOST);
+        item.setStatusChangedAt(LocalDateTime.now());
         item.setUser(user);
 
         // Save image if provided
-        if (imageFile != null && !imageFile.isEmpty()) {
-            String imagePath = imageService.saveLostItemImage(imageFile);
+        if (image != null) {
+            String imagePath = imageService.saveLostItemImage(image);
             item.setImagePath(imagePath);
         }
 
-        return lostItemRepository.save(item);
+        LostItem saved = lostItemRepository.save(item);
+        eventPublisher.publishEvent(ItemLifecycleEvent.created(saved));
+        outboxService.lostItemReported(saved);
+        return saved;
     }
 
     /**
@@ -76,6 +100,26 @@ public class LostItemService {
         return lostItemRepository.findAll();
     }
 
+    /**
+     * Get lost items that are still open (not yet matched or recovered).
+     * @return list of open lost items
+     */
+    @Transactional(readOnly = true)
+    public List<LostItem> getOpenLostItems() {
+        return lostItemRepository.findByStatusIn(ItemStatus.openStatuses());
+    }
+
+    /**
+     * Get open lost items that may be in a building: those in it and those whose
+     * building is unknown.
+     * @param buildingId the gazetteer building ID
+     * @return list of open lost items in or possibly in the building
+     */
+    @Transactional(readOnly = true)
+    public List<LostItem> getOpenLostItemsInBuilding(Long buildingId) {
+        return lostItemRepository.findByStatusInAndBuildingIdOrUnknown(ItemStatus.openStatuses(), buildingId);
+    }
+
     /**
      * Get lost items by user.
      * @param userId the user ID
@@ -101,13 +145,13 @@ public class LostItemService {
 
     /**
      * Delete a lost item.
-     * Also deletes the associated image file.
+     * Its image is released in the background after the transaction commits,
+     * so a rollback keeps the file.
      * @param id the item ID
      * @param userId the user ID (for authorization check)
      * @throws IllegalArgumentException if item not found or user not authorized
-     * @throws IOException if image cannot be deleted
      */
-    public void deleteLostItem(Long id, Long userId) throws IOException {
+    public void deleteLostItem(Long id, Long userId) {
         LostItem item = getLostItemById(id);
         User user = userService.findById(userId);
 
@@ -116,11 +160,11 @@ public class LostItemService {
             throw new IllegalArgumentException("Not authorized to delete this item");
         }
 
-        // Delete image if exists
         if (item.getImagePath() != null && !item.getImagePath().isEmpty()) {
-            imageService.deleteImage(item.getImagePath());
+            eventPublisher.publishEvent(new ImagesReleasedEvent(List.of(item.getImagePath())));
         }
 
+        eventPublisher.publishEvent(ItemLifecycleEvent.deleted(item));
         lostItemRepository.delete(item);
     }
 
@@ -131,8 +175,101 @@ public class LostItemService {
      */
     public void updateStatus(Long id, ItemStatus status) {
         LostItem item = getLostItemById(id);
+        ItemStatus previousStatus = item.getStatus();
         item.setStatus(status);
+        if (previousStatus != status) {
+            item.setStatusChangedAt(LocalDateTime.now());
+        }
         lostItemRepository.save(item);
+        if (previousStatus != status) {
+            eventPublisher.publishEvent(ItemLifecycleEvent.statusChanged(item, previousStatus));
+        }
+    }
+
+    /**
+     * Set the status of many lost items at once.
+     * The items are locked and read in one query to determine per-item results,
+     * then changed with a single UPDATE.
+     * @param ids the item IDs
+     * @param status the new status
+     * @return one result per requested ID (UPDATED, UNCHANGED or NOT_FOUND)
+     */
+    public List<BulkItemResult> bulkUpdateStatus(Collection<Long> ids, ItemStatus status) {
+        Map<Long, LostItem> items = lostItemRepository.findAllByIdForUpdate(ids).stream()
+                .collect(Collectors.toMap(LostItem::getId, Function.identity()));
+        LocalDateTime changedAt = LocalDateTime.now();
+        lostItemRepository.updateStatusByIdIn(ids, status, changedAt);
+
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            LostItem item = items.get(id);
+            if (item == null) {
+                results.add(new BulkItemResult("LOST", id, "NOT_FOUND"));
+            } else if (item.getStatus() == status) {
+                results.add(new BulkItemResult("LOST", id, "UNCHANGED"));
+            } else {
+                ItemStatus previousStatus = item.getStatus();
+                item.setStatus(status);
+                item.setStatusChangedAt(changedAt);
+                eventPublisher.publishEvent(ItemLifecycleEvent.statusChanged(item, previousStatus));
+                results.add(new BulkItemResult("LOST", id, "UPDATED"));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Delete many lost items at once.
+     * Rows are removed with a single DELETE; their image files are deleted
+     * in the background after the transaction commits.
+     * @param ids the item IDs
+     * @return one result per requested ID (DELETED or NOT_FOUND)
+     */
+    public List<BulkItemResult> bulkDelete(Collection<Long> ids) {
+        Map<Long, LostItem> items = lostItemRepository.findAllByIdForUpdate(ids).stream()
+                .collect(Collectors.toMap(LostItem::getId, Function.identity()));
+        if (!items.isEmpty()) {
+            lostItemRepository.deleteAllByIdInBatch(items.keySet());
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        List<String> imagePaths = new ArrayList<>();
+        for (Long id : ids) {
+            LostItem item = items.get(id);
+            if (item == null) {
+                results.add(new BulkItemResult("LOST", id, "NOT_FOUND"));
+                continue;
+            }
+            if (item.getImagePath() != null && !item.getImagePath().isEmpty()) {
+                imagePaths.add(item.getImagePath());
+            }
+            eventPublisher.publishEvent(ItemLifecycleEvent.deleted(item));
+            results.add(new BulkItemResult("LOST", id, "DELETED"));
+        }
+        if (!imagePaths.isEmpty()) {
+            eventPublisher.publishEvent(new ImagesReleasedEvent(imagePaths));
+        }
+        return results;
+    }
+
+    /**
+     * Atomically move a lost item from an expected status to a new one.
+     * Uses a single conditional UPDATE instead of read-modify-write.
+     * @param item the item as read by the caller; its status is the expected status
+     * @param status the new status
+     * @throws ItemConflictException if another transaction changed the item's status first
+     */
+    public void compareAndSetStatus(LostItem item, ItemStatus status) {
+        ItemStatus previousStatus = item.getStatus();
+        LocalDateTime changedAt = LocalDateTime.now();
+        if (lostItemRepository.compareAndSetStatus(item.getId(), previousStatus, status, changedAt) == 0) {
+            throw new ItemConflictException("Lost item " + item.getId()
+                    + " was changed by someone else; please reload and try again");
+        }
+        // The update bypassed the persistence context, so the caller's copy is stale
+        item.setStatus(status);
+        item.setStatusChangedAt(changedAt);
+        eventPublisher.publishEvent(ItemLifecycleEvent.statusChanged(item, previousStatus));
     }
 
     /**
@@ -153,6 +290,7 @@ public class LostItemService {
         response.setUsername(item.getUser().getUsername());
         response.setUserId(item.getUser().getId());
         response.setItemType("LOST");
+        response.setVersion(item.getVersion());
         return response;
     }
 
@@ -1,10 +1,13 @@
 package com.itemrecovery.service;
 
 import com.itemrecovery.dto.ItemResponse;
+import com.itemrecovery.exception.ItemConflictException;
 import com.itemrecovery.model.FoundItem;
 import com.itemrecovery.model.ItemStatus;
 import com.itemrecovery.model.LostItem;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,11 +15,14 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
  * Service for matching lost and found items.
  * Suggests potential matches based on description similarity, location, and date proximity.
+ * Locations resolved to the gazetteer are compared by their distance in the location
+ * hierarchy, and candidates can be limited to the same building.
  */
 @Service
 @Transactional
@@ -27,6 +33,15 @@ public class MatchService {
     
     @Autowired
     private FoundItemService foundItemService;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private GazetteerService gazetteerService;
+    
+    @Value("${app.matching.block-by-building:true}")
+    private boolean blockByBuilding;
 
     /**
      * Find potential matches for a lost item.
@@ -36,17 +51,14 @@ public class MatchService {
     @Transactional(readOnly = true)
     public List<ItemResponse> findMatchesForLostItem(Long lostItemId) {
         LostItem lostItem = lostItemService.getLostItemById(lostItemId);
-        List<FoundItem> allFoundItems = foundItemService.getAllFoundItems();
+        // Only open items are candidates; matched and recovered ones are skipped by the query
+        List<FoundItem> openFoundItems = blockByBuilding && lostItem.getBuildingId() != null
+                ? foundItemService.getOpenFoundItemsInBuilding(lostItem.getBuildingId())
+                : foundItemService.getOpenFoundItems();
         
         List<ItemResponse> matches = new ArrayList<>();
         
-        for (FoundItem foundItem : allFoundItems) {
-            // Skip if already matched or recovered
-            if (foundItem.getStatus() == ItemStatus.MATCHED || 
-                foundItem.getStatus() == ItemStatus.RECOVERED) {
-                continue;
-            }
-            
+        for (FoundItem foundItem : openFoundItems) {
             double score = calculateMatchScore(lostItem, foundItem);
             
             // If match score is above threshold, add to matches
@@ -65,6 +77,18 @@ public class MatchService {
         return matches;
     }
 
+    /**
+     * Find potential matches for a lost item on the match executor.
+     * @param lostItemId the lost item ID
+     * @return future list of potential matches (found items)
+     * @throws org.springframework.core.task.TaskRejectedException if the match executor's queue is full
+     */
+    @Async("matchExecutor")
+    @Transactional(readOnly = true)
+    public CompletableFuture<List<ItemResponse>> findMatchesForLostItemAsync(Long lostItemId) {
+        return CompletableFuture.completedFuture(findMatchesForLostItem(lostItemId));
+    }
+
     /**
      * Find potential matches for a found item.
      * @param foundItemId the found item ID
@@ -73,17 +97,14 @@ public class MatchService {
     @Transactional(readOnly = true)
     public List<ItemResponse> findMatchesForFoundItem(Long foundItemId) {
         FoundItem foundItem = foundItemService.getFoundItemById(foundItemId);
-        List<LostItem> allLostItems = lostItemService.getAllLostItems();
+        // Only open items are candidates; matched and recovered ones are skipped by the query
+        List<LostItem> openLostItems = blockByBuilding && foundItem.getBuildingId() != null
+                ? lostItemService.getOpenLostItemsInBuilding(foundItem.getBuildingId())
+                : lostItemService.getOpenLostItems();
         
         List<ItemResponse> matches = new ArrayList<>();
         
-        for (LostItem lostItem : allLostItems) {
-            // Skip if already matched or recovered
-            if (lostItem.getStatus() == ItemStatus.MATCHED || 
-                lostItem.getStatus() == ItemStatus.RECOVERED) {
-                continue;
-            }
-            
+        for (LostItem lostItem : openLostItems) {
             double score = calculateMatchScore(lostItem, foundItem);
             
             // If match score is above threshold, add to matches
@@ -112,10 +133,12 @@ public class MatchService {
             foundItem.getDescription().toLowerCase()
         );
         
-        double locationScore = calculateLocationSimilarity(
-            lostItem.getLocation().toLowerCase(),
-            foundItem.getLocation().toLowerCase()
-        );
+        double locationScore = gazetteerService.canScore(lostItem.getLocationId(), foundItem.getLocationId())
+            ? gazetteerService.locationScore(lostItem.getLocationId(), foundItem.getLocationId())
+            : calculateLocationSimilarity(
+                lostItem.getLocation().toLowerCase(),
+                foundItem.getLocation().toLowerCase()
+            );
         
         double dateScore = calculateDateProximity(
             lostItem.getDate(),
@@ -208,13 +231,41 @@ public class MatchService {
         }
     }
 
+    /**
+     * Find potential matches for a found item on the match executor.
+     * @param foundItemId the found item ID
+     * @return future list of potential matches (lost items)
+     * @throws org.springframework.core.task.TaskRejectedException if the match executor's queue is full
+     */
+    @Async("matchExecutor")
+    @Transactional(readOnly = true)
+    public CompletableFuture<List<ItemResponse>> findMatchesForFoundItemAsync(Long foundItemId) {
+        return CompletableFuture.completedFuture(findMatchesForFoundItem(foundItemId));
+    }
+
     /**
      * Mark items as matched.
+     * Both items must still be open. Each side is claimed with a conditional
+     * update on the status it was read with, always lost item first, so of two
+     * concurrent matches involving the same item exactly one succeeds and the
+     * other rolls back. Both reporters are notified through the outbox in the
+     * same transaction.
      * @param lostItemId the lost item ID
      * @param foundItemId the found item ID
+     * @throws ItemConflictException if either item is no longer open
      */
     public void markAsMatched(Long lostItemId, Long foundItemId) {
-        lostItemService.updateStatus(lostItemId, ItemStatus.MATCHED);
-        foundItemService.updateStatus(foundItemId, ItemStatus.MATCHED);
+        LostItem lostItem = lostItemService.getLostItemById(lostItemId);
+        FoundItem foundItem = foundItemService.getFoundItemById(foundItemId);
+        if (!lostItem.getStatus().isOpen()) {
+            throw new ItemConflictException("Lost item " + lostItemId + " is already " + lostItem.getStatus());
+        }
+        if (!foundItem.getStatus().isOpen()) {
+            throw new ItemConflictException("Found item " + foundItemId + " is already " + foundItem.getStatus());
+        }
+
+        lostItemService.compareAndSetStatus(lostItem, ItemStatus.MATCHED);
+        foundItemService.compareAndSetStatus(foundItem, ItemStatus.MATCHED);
+        outboxService.itemsMatched(lostItem, foundItem);
     }
 }
@@ -0,0 +1,54 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.model.Notification;
+import com.itemrecovery.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service for the in-app notification inbox.
+ * Notifications are created by OutboxDispatcher; this service only reads and marks them.
+ */
+@Service
+@Transactional
+public class NotificationService {
+    
+    public static final int INBOX_SIZE = 20;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    /**
+     * Get a user's most recent notifications.
+     * @param userId the user ID
+     * @return up to INBOX_SIZE notifications, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<Notification> getRecentNotifications(Long userId) {
+        return notificationRepository.findRecentByUserId(userId, PageRequest.of(0, INBOX_SIZE));
+    }
+
+    /**
+     * Count a user's unread notifications.
+     * @param userId the user ID
+     * @return number of unread notifications
+     */
+    @Transactional(readOnly = true)
+    public long countUnread(Long userId) {
+        return notificationRepository.countByUserIdAndReadAtIsNull(userId);
+    }
+
+    /**
+     * Mark all of a user's notifications as read.
+     * @param userId the user ID
+     * @return number of notifications marked
+     */
+    public int markAllRead(Long userId) {
+        return notificationRepository.markAllRead(userId, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,319 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.model.ImageVariant;
+import com.itemrecovery.repository.ImagePathRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Service reclaiming image files no item references, e.g. uploads whose item
+ * transaction rolled back. Only files older than a grace period are considered,
+ * so uploads still waiting for their transaction to commit are left alone.
+ * Orphans are quarantined (moved out of the served tree) or deleted, at a bounded
+ * rate so the job never saturates the disk. Only applies to local storage.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+public class OrphanImageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(OrphanImageCollector.class);
+
+    @Autowired
+    private ImagePathRepository imagePathRepository;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.images.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.images.gc.grace-period:P1D}")
+    private Duration gracePeriod;
+
+    // "quarantine" or "delete"
+    @Value("${app.images.gc.mode:quarantine}")
+    private String mode;
+
+    @Value("${app.images.gc.quarantine-dir:uploads-quarantine}")
+    private String quarantineDir;
+
+    @Value("${app.images.gc.quarantine-retention:P30D}")
+    private Duration quarantineRetention;
+
+    @Value("${app.images.gc.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.images.gc.max-files-per-second:50}")
+    private int maxFilesPerSecond;
+
+    /**
+     * Collect orphaned images, then purge quarantined files past their retention.
+     * Runs on the configured cron schedule.
+     */
+    @Scheduled(cron = "${app.images.gc.cron:0 0 4 * * *}")
+    public void collect() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Path root = Paths.get(uploadDir);
+            Path quarantine = Paths.get(quarantineDir);
+            Instant cutoff = Instant.now().minus(gracePeriod);
+            boolean quarantining = "quarantine".equals(mode);
+
+            long[] orphanBytes = {0};
+            int[] handled = {0};
+            forEachOrphanBatch(root, cutoff, orphans -> {
+                for (Map.Entry<String, Long> orphan : orphans.entrySet()) {
+                    if (handleOrphan(root, quarantine, orphan.getKey(), cutoff, quarantining)) {
+                        orphanBytes[0] += orphan.getValue();
+                        handled[0]++;
+                    }
+                    pace();
+                }
+            });
+
+            long purgedBytes = quarantining ? purgeQuarantine(quarantine) : 0;
+            long reclaimedBytes = quarantining ? purgedBytes : orphanBytes[0];
+            log.info("Orphaned images: {} {} ({} bytes), {} bytes reclaimed",
+                     handled[0], quarantining ? "quarantined" : "deleted", orphanBytes[0], reclaimedBytes);
+        } catch (IOException e) {
+            log.warn("Orphaned image collection failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Find files older than the cutoff that no stored path accounts for, a batch at a time.
+     * The upload tree is walked in key order and cut into batches of consecutive files;
+     * each batch is checked against the referenced paths in its own key range, so memory
+     * holds one batch and one directory listing per level, whatever the size of the tree.
+     * @param root the upload directory
+     * @param cutoff files modified after this instant are skipped
+     * @param action receives each batch of orphan image paths and their sizes
+     * @throws IOException if the upload directory cannot be listed
+     */
+    private void forEachOrphanBatch(Path root, Instant cutoff, Consumer<Map<String, Long>> action)
+            throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        TreeMap<String, Long> candidates = new TreeMap<>();
+        walkSorted(root, root, cutoff, candidates, action);
+        if (!candidates.isEmpty()) {
+            releaseReferenced(candidates);
+            action.accept(candidates);
+        }
+    }
+
+    /**
+     * Add old files under a directory to the candidates in key order, handing off
+     * each full batch once its referenced files have been released.
+     */
+    private void walkSorted(Path root, Path dir, Instant cutoff, TreeMap<String, Long> candidates,
+                            Consumer<Map<String, Long>> action) throws IOException {
+        // Directories sort as "name/", so files are visited in the byte order of their keys
+        TreeMap<String, Path> entries = new TreeMap<>();
+        try (DirectoryStream<Path> listing = Files.newDirectoryStream(dir)) {
+            for (Path entry : listing) {
+                boolean directory = Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS);
+                entries.put(entry.getFileName() + (directory ? "/" : ""), entry);
+            }
+        }
+        for (Map.Entry<String, Path> entry : entries.entrySet()) {
+            Path file = entry.getValue();
+            if (entry.getKey().endsWith("/")) {
+                try {
+                    walkSorted(root, file, cutoff, candidates, action);
+                } catch (IOException e) {
+                    log.debug("Skipping unreadable upload directory {}: {}", file, e.getMessage());
+                }
+                continue;
+            }
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (IOException e) {
+                log.debug("Skipping unreadable upload {}: {}", file, e.getMessage());
+                continue;
+            }
+            if (attrs.isRegularFile() && attrs.lastModifiedTime().toInstant().isBefore(cutoff)) {
+                candidates.put(keyFor(root, file), attrs.size());
+                if (candidates.size() >= batchSize) {
+                    releaseReferenced(candidates);
+                    action.accept(candidates);
+                    candidates.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove the candidates a stored path accounts for: the path itself, its variants,
+     * and its sharded form. Only the key ranges that can hold such paths are read:
+     * the batch's own range, and for sharded files the range of their flat forms.
+     * @param candidates consecutive files in key order
+     */
+    private void releaseReferenced(TreeMap<String, Long> candidates) {
+        String ownFrom = null;
+        String ownTo = null;
+        // Flat forms of sharded files, by parent directory
+        Map<String, String[]> flatRanges = new TreeMap<>();
+        for (String key : candidates.keySet()) {
+            String stem = stem(key);
+            ownFrom = ownFrom == null || stem.compareTo(ownFrom) < 0 ? stem : ownFrom;
+            ownTo = ownTo == null || stem.compareTo(ownTo) > 0 ? stem : ownTo;
+            if (ImageLayout.isSharded(key)) {
+                String flatStem = stem(ImageLayout.flat(key));
+                String parent = flatStem.substring(0, flatStem.lastIndexOf('/') + 1);
+                String[] range = flatRanges.computeIfAbsent(parent, p -> new String[] {flatStem, flatStem});
+                range[0] = flatStem.compareTo(range[0]) < 0 ? flatStem : range[0];
+                range[1] = flatStem.compareTo(range[1]) > 0 ? flatStem : range[1];
+            }
+        }
+        releaseInRange(candidates, ownFrom, ownTo + "/");
+        for (String[] range : flatRanges.values()) {
+            releaseInRange(candidates, range[0], range[1] + "/");
+        }
+    }
+
+    private void releaseInRange(Map<String, Long> candidates, String from, String to) {
+        String after = "";
+        List<String> referenced;
+        do {
+            referenced = imagePathRepository.findReferencedPaths(from, to, after, batchSize);
+            for (String path : referenced) {
+                release(candidates, path);
+                release(candidates, ImageLayout.sharded(path));
+            }
+            after = referenced.isEmpty() ? after : referenced.get(referenced.size() - 1);
+        } while (referenced.size() == batchSize && !candidates.isEmpty());
+    }
+
+    /**
+     * Prefix shared by a file and every path that can keep it: a variant's original
+     * without its extension, or the file's own path without its extension.
+     * Any path keeping the file sorts between the stem and the stem followed by "/".
+     */
+    private static String stem(String key) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            String suffix = "_" + variant.getSuffix() + ".jpg";
+            if (key.endsWith(suffix)) {
+                return key.substring(0, key.length() - suffix.length());
+            }
+        }
+        int slash = key.lastIndexOf('/');
+        int dot = key.lastIndexOf('.');
+        return dot > slash ? key.substring(0, dot) : key;
+    }
+
+    private static void release(Map<String, Long> candidates, String path) {
+        candidates.remove(path);
+        for (ImageVariant variant : ImageVariant.values()) {
+            candidates.remove(variant.pathFor(path));
+        }
+    }
+
+    /**
+     * Quarantine or delete one orphan, unless it has been touched since the walk.
+     * @return true if the file was removed from the upload tree
+     */
+    private boolean handleOrphan(Path root, Path quarantine, String key, Instant cutoff, boolean quarantining) {
+        Path file = root.resolve(key.substring(uploadDir.length() + 1));
+        try {
+            if (!Files.exists(file) || !Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                return false;
+            }
+            if (quarantining) {
+                Path target = quarantine.resolve(root.relativize(file));
+                Files.createDirectories(target.getParent());
+                Files.move(file, target);
+                // Retention is measured from the time of quarantine
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            } else {
+                Files.delete(file);
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not remove orphaned image {}: {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Delete quarantined files older than the retention period.
+     * @param quarantine the quarantine directory
+     * @return bytes reclaimed
+     * @throws IOException if the quarantine directory cannot be walked
+     */
+    private long purgeQuarantine(Path quarantine) throws IOException {
+        if (!Files.isDirectory(quarantine)) {
+            return 0;
+        }
+        Instant expiry = Instant.now().minus(quarantineRetention);
+        long[] purged = {0};
+        Files.walkFileTree(quarantine, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && attrs.lastModifiedTime().toInstant().isBefore(expiry)) {
+                    try {
+                        Files.delete(file);
+                        purged[0] += attrs.size();
+                    } catch (IOException e) {
+                        log.warn("Could not purge quarantined image {}: {}", file, e.getMessage());
+                    }
+                    pace();
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return purged[0];
+    }
+
+    /**
+     * Image path of a file, in the form stored on items (uploadDir/relative/path).
+     */
+    private String keyFor(Path root, Path file) {
+        return uploadDir + "/" + root.relativize(file).toString().replace('\\', '/');
+    }
+
+    /**
+     * Limit file operations to app.images.gc.max-files-per-second.
+     */
+    private void pace() {
+        if (maxFilesPerSecond <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(1000L / maxFilesPerSecond);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.model.OutboxMessage;
+import com.itemrecovery.model.OutboxStatus;
+import com.itemrecovery.model.User;
+import com.itemrecovery.repository.NotificationRepository;
+import com.itemrecovery.repository.OutboxMessageRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
+
+/**
+ * Delivers queued outbox messages to the in-app inbox and by email.
+ * Due messages are claimed in batches with FOR UPDATE SKIP LOCKED and leased by pushing their
+ * next attempt past the claim lease, in a short transaction; they are then delivered with no
+ * transaction or row lock held, so several instances can poll concurrently and a slow mail
+ * server holds no database resources. A failed message is retried with exponential backoff
+ * under the same idempotency key until it is delivered or runs out of attempts.
+ */
+@Service
+public class OutboxDispatcher {
+    
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Autowired
+    private EmailGateway emailGateway;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${app.outbox.batch-size:50}")
+    private int batchSize;
+    
+    @Value("${app.outbox.max-attempts:8}")
+    private int maxAttempts;
+    
+    @Value("${app.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+    
+    @Value("${app.outbox.max-backoff:PT1H}")
+    private Duration maxBackoff;
+    
+    @Value("${app.outbox.claim-lease:PT10M}")
+    private Duration claimLease;
+    
+    @Value("${app.outbox.sent-retention:P7D}")
+    private Period sentRetention;
+
+    /**
+     * Deliver all messages that are due.
+     * Each batch is claimed in its own transaction; each message is then delivered and
+     * its outcome recorded on its own, so one failure never affects another message.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT5S}")
+    public void dispatch() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long sent = 0;
+        long failed = 0;
+        while (true) {
+            List<OutboxMessage> batch = transactionTemplate.execute(status -> claimBatch());
+            for (OutboxMessage message : batch) {
+                Boolean delivered = deliverClaimed(transactionTemplate, message);
+                if (Boolean.TRUE.equals(delivered)) {
+                    sent++;
+                } else if (Boolean.FALSE.equals(delivered)) {
+                    failed++;
+                }
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        if (failed > 0) {
+            log.warn("Delivered {} outbox messages, {} failed", sent, failed);
+        } else if (sent > 0) {
+            log.debug("Delivered {} outbox messages", sent);
+        }
+    }
+
+    /**
+     * Delete delivered messages older than the retention period.
+     * Inbox notifications are kept; only the outbox rows go.
+     */
+    @Scheduled(cron = "${app.outbox.purge-cron:0 45 3 * * *}")
+    public void purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(sentRetention);
+        Integer deleted = new TransactionTemplate(transactionManager)
+                .execute(status -> outboxMessageRepository.deleteSentBefore(cutoff));
+        if (deleted > 0) {
+            log.info("Purged {} delivered outbox messages", deleted);
+        }
+    }
+
+    /**
+     * Claim one batch of due messages.
+     * Each attempt is counted and the message leased: its next attempt moves past the claim
+     * lease, so other pollers skip it once the claim commits, and a message whose delivery
+     * was cut short (e.g. by a crash) becomes due again when the lease runs out.
+     * Must run inside a transaction.
+     * @return the claimed messages, with their recipients loaded for use after the transaction
+     */
+    private List<OutboxMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> batch = outboxMessageRepository.claimDueBatch(now, batchSize);
+        for (OutboxMessage message : batch) {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(now.plus(claimLease));
+            Hibernate.initialize(message.getRecipient());
+        }
+        return batch;
+    }
+
+    /**
+     * Deliver a claimed message and record the outcome in its own transaction.
+     * A message whose lease ran out before its turn is skipped: it is due again
+     * and may have been claimed by another poller.
+     * @param transactionTemplate the transaction template
+     * @param message the claimed message
+     * @return true if delivered, false if the attempt failed, null if skipped
+     */
+    private Boolean deliverClaimed(TransactionTemplate transactionTemplate, OutboxMessage message) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!now.isBefore(message.getNextAttemptAt())) {
+            return null;
+        }
+        boolean delivered;
+        try {
+            deliver(transactionTemplate, message);
+            message.setStatus(OutboxStatus.SENT);
+            message.setSentAt(LocalDateTime.now());
+            message.setLastError(null);
+            delivered = true;
+        } catch (RuntimeException e) {
+            scheduleRetry(message, e, now);
+            delivered = false;
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxMessageRepository.save(message));
+        return delivered;
+    }
+
+    /**
+     * Deliver a message to the recipient's inbox and by email.
+     * The inbox insert commits on its own and is skipped if an earlier attempt already
+     * made it; the email is sent with no transaction open.
+     * @param transactionTemplate the transaction template
+     * @param message the message
+     */
+    private void deliver(TransactionTemplate transactionTemplate, OutboxMessage message) {
+        User recipient = message.getRecipient();
+        transactionTemplate.executeWithoutResult(status -> notificationRepository.insertIfAbsent(
+                message.getIdempotencyKey(), recipient.getId(), message.getSubject(), message.getBody()));
+        emailGateway.send(recipient.getEmail(), message.getSubject(), message.getBody(),
+                message.getIdempotencyKey());
+    }
+
+    /**
+     * Record a failed attempt and schedule the next one, or give up after the last attempt.
+     * @param message the message
+     * @param error the failure
+     * @param now the time of the attempt
+     */
+    private void scheduleRetry(OutboxMessage message, RuntimeException error, LocalDateTime now) {
+        String description = error.getClass().getSimpleName() + ": " + error.getMessage();
+        message.setLastError(description.length() > MAX_ERROR_LENGTH
+                ? description.substring(0, MAX_ERROR_LENGTH) : description);
+        if (message.getAttempts() >= maxAttempts) {
+            message.setStatus(OutboxStatus.FAILED);
+            log.error("Giving up on outbox message {} after {} attempts: {}",
+                    message.getIdempotencyKey(), message.getAttempts(), description);
+            return;
+        }
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(message.getAttempts() - 1, 20));
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+        message.setNextAttemptAt(now.plus(backoff));
+        log.warn("Outbox message {} failed (attempt {}), retrying in {}: {}",
+                message.getIdempotencyKey(), message.getAttempts(), backoff, description);
+    }
+}
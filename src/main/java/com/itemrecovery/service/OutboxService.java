@@ -0,0 +1,79 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.model.FoundItem;
+import com.itemrecovery.model.LostItem;
+import com.itemrecovery.model.User;
+import com.itemrecovery.repository.OutboxMessageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for queueing notifications in the transactional outbox.
+ * Messages are written in the caller's transaction, so a notification exists exactly
+ * when the change it announces was committed; delivery happens later in OutboxDispatcher.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+    
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    /**
+     * Queue a notification.
+     * Queueing the same idempotency key twice has no effect.
+     * @param idempotencyKey identifies the notification; letters, digits, '.' and '-' only
+     * @param recipient the recipient
+     * @param subject the subject
+     * @param body the body
+     * @return true if the notification was queued, false if it was queued before
+     */
+    public boolean enqueue(String idempotencyKey, User recipient, String subject, String body) {
+        return outboxMessageRepository.enqueue(idempotencyKey, recipient.getId(), subject, body) > 0;
+    }
+
+    /**
+     * Confirm a new lost item report to its reporter.
+     * @param item the saved lost item
+     */
+    public void lostItemReported(LostItem item) {
+        enqueue("reported.lost-" + item.getId(), item.getUser(),
+                "Your lost item report \"" + item.getName() + "\" was received",
+                "We received your report of \"" + item.getName() + "\", lost on " + item.getDate()
+                        + " at " + item.getLocation() + ".\n"
+                        + "You will be notified here when it is matched with a found item.");
+    }
+
+    /**
+     * Confirm a new found item report to its reporter.
+     * @param item the saved found item
+     */
+    public void foundItemReported(FoundItem item) {
+        enqueue("reported.found-" + item.getId(), item.getUser(),
+                "Your found item report \"" + item.getName() + "\" was received",
+                "Thank you for reporting \"" + item.getName() + "\", found on " + item.getDate()
+                        + " at " + item.getLocation() + ".\n"
+                        + "You will be notified here when its owner is identified.");
+    }
+
+    /**
+     * Tell the owner of a lost item and the finder of a found item that their items were matched.
+     * @param lostItem the matched lost item
+     * @param foundItem the matched found item
+     */
+    public void itemsMatched(LostItem lostItem, FoundItem foundItem) {
+        String key = "matched.lost-" + lostItem.getId() + ".found-" + foundItem.getId();
+        enqueue(key + ".owner", lostItem.getUser(),
+                "A found item may be your \"" + lostItem.getName() + "\"",
+                "Your lost item \"" + lostItem.getName() + "\" was matched with \"" + foundItem.getName()
+                        + "\", found on " + foundItem.getDate() + " at " + foundItem.getLocation() + ".\n"
+                        + "Contact the finder: " + foundItem.getContact());
+        enqueue(key + ".finder", foundItem.getUser(),
+                "The item you found, \"" + foundItem.getName() + "\", was matched",
+                "Your found item \"" + foundItem.getName() + "\" was matched with the lost item \""
+                        + lostItem.getName() + "\".\n"
+                        + "Contact the owner: " + lostItem.getContact());
+    }
+}
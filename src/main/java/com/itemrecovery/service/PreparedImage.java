@@ -0,0 +1,74 @@
+package com.itemrecovery.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An uploaded image staged, normalized and hashed, ready to be stored with its item.
+ * Produced by {@link ImageService#prepare} outside any transaction; closing it deletes
+ * the staged files.
+ */
+public final class PreparedImage implements AutoCloseable {
+
+    private final Path staged;
+    private final Path normalized;
+    private final String hash;
+    private final long size;
+    private final String extension;
+
+    PreparedImage(Path staged, Path normalized, String hash, long size, String extension) {
+        this.staged = staged;
+        this.normalized = normalized;
+        this.hash = hash;
+        this.size = size;
+        this.extension = extension;
+    }
+
+    /**
+     * Get the file to store: the normalized JPEG, or the upload as received.
+     * @return the file
+     */
+    Path getFile() {
+        return normalized != null ? normalized : staged;
+    }
+
+    /**
+     * Get the SHA-256 of the file to store.
+     * @return the lowercase hex digest
+     */
+    String getHash() {
+        return hash;
+    }
+
+    /**
+     * Get the size of the file to store.
+     * @return the size in bytes
+     */
+    long getSize() {
+        return size;
+    }
+
+    /**
+     * Get the extension the stored file is named with.
+     * @return the lowercase extension including the dot, or an empty string
+     */
+    String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Delete the staged files.
+     * @throws IOException if a file cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            Files.deleteIfExists(staged);
+        } finally {
+            if (normalized != null) {
+                Files.deleteIfExists(normalized);
+            }
+        }
+    }
+}
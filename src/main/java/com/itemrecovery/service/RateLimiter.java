@@ -0,0 +1,154 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.dto.RateLimitStats;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process rate limiter for expensive endpoints.
+ * Each rule keeps one token bucket per user and one per client IP; a request must get
+ * a token from both, and a refused request costs neither. Buckets that have refilled completely are indistinguishable from
+ * new ones, so they are dropped periodically, and the number of live buckets is capped;
+ * past the cap, new keys of a rule share a single overflow bucket.
+ */
+@Service
+public class RateLimiter {
+
+    public static final String REPORT = "report";
+
+    public static final String MATCH = "match";
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.report.capacity:5}")
+    private int reportCapacity;
+
+    @Value("${app.rate-limit.report.refill-period:PT1M}")
+    private Duration reportRefillPeriod;
+
+    @Value("${app.rate-limit.match.capacity:30}")
+    private int matchCapacity;
+
+    @Value("${app.rate-limit.match.refill-period:PT1M}")
+    private Duration matchRefillPeriod;
+
+    @Value("${app.rate-limit.max-buckets:100000}")
+    private int maxBuckets;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final Map<String, Rule> rules = new LinkedHashMap<>();
+
+    @PostConstruct
+    void initRules() {
+        rules.put(REPORT, new Rule(REPORT, reportCapacity, reportRefillPeriod));
+        rules.put(MATCH, new Rule(MATCH, matchCapacity, matchRefillPeriod));
+    }
+
+    /**
+     * Take a token for a request from the user's and the client IP's bucket.
+     * @param ruleName the rule, REPORT or MATCH
+     * @param username the authenticated user, or null for anonymous requests
+     * @param clientIp the client address
+     * @return 0 if the request may proceed, otherwise the nanoseconds until it may be retried
+     * @throws IllegalArgumentException if the rule is unknown
+     */
+    public long tryAcquire(String ruleName, String username, String clientIp) {
+        Rule rule = rules.get(ruleName);
+        if (rule == null) {
+            throw new IllegalArgumentException("Unknown rate limit rule: " + ruleName);
+        }
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long wait = 0;
+        TokenBucket userBucket = null;
+        if (username != null) {
+            userBucket = bucket(rule, "user|" + username, now);
+            wait = userBucket.tryConsume(now);
+        }
+        if (wait == 0) {
+            wait = bucket(rule, "ip|" + clientIp, now).tryConsume(now);
+            if (wait != 0 && userBucket != null) {
+                // The IP refused the request, so it must not use up the user's allowance either
+                userBucket.refund();
+            }
+        }
+        if (wait == 0) {
+            rule.allowed.increment();
+        } else {
+            rule.throttled.increment();
+            log.debug("Throttled {} request from user {} at {}", ruleName, username, clientIp);
+        }
+        return wait;
+    }
+
+    /**
+     * Get the allowed and throttled request counts of every rule since startup.
+     * @return one entry per rule
+     */
+    public List<RateLimitStats> getStats() {
+        List<RateLimitStats> stats = new ArrayList<>();
+        for (Rule rule : rules.values()) {
+            stats.add(new RateLimitStats(rule.name, rule.capacity, rule.refillPeriod,
+                                         rule.allowed.sum(), rule.throttled.sum()));
+        }
+        return stats;
+    }
+
+    /**
+     * Drop buckets that have refilled completely.
+     * A request racing with the removal may take a token from the dropped bucket
+     * and the next one start a fresh bucket; at worst one extra request gets through.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval:PT1M}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private TokenBucket bucket(Rule rule, String key, long now) {
+        String bucketKey = rule.name + "|" + key;
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets) {
+            evictIdleBuckets();
+            if (buckets.size() >= maxBuckets) {
+                bucketKey = rule.name + "|overflow";
+            }
+        }
+        return buckets.computeIfAbsent(bucketKey, k -> new TokenBucket(rule.capacity, rule.refillPeriod, now));
+    }
+
+    private static final class Rule {
+        private final String name;
+        private final int capacity;
+        private final Duration refillPeriod;
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+
+        private Rule(String name, int capacity, Duration refillPeriod) {
+            this.name = name;
+            this.capacity = capacity;
+            this.refillPeriod = refillPeriod;
+        }
+    }
+}
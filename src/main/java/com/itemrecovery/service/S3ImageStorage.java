@@ -0,0 +1,264 @@
+package com.itemrecovery.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Image storage in an S3-compatible bucket, so app nodes keep no images of their own.
+ * Reads by browsers are redirected to presigned URLs; reads by the app (variant
+ * generation) go through a local LRU disk cache. Large files are uploaded in parts
+ * straight from disk.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class S3ImageStorage implements ImageStorage {
+
+    // Every key names immutable bytes, so clients may cache objects indefinitely
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private static final int NOT_FOUND = 404;
+
+    @Autowired
+    private S3Client s3Client;
+
+    @Autowired
+    private S3Presigner s3Presigner;
+
+    @Value("${app.storage.s3.bucket}")
+    private String bucket;
+
+    @Value("${app.storage.s3.part-size:5MB}")
+    private DataSize partSize;
+
+    @Value("${app.storage.s3.presign-expiry:PT15M}")
+    private Duration presignExpiry;
+
+    @Value("${app.storage.cache.dir:image-cache}")
+    private String cacheDir;
+
+    @Value("${app.storage.cache.max-size:1GB}")
+    private DataSize cacheMaxSize;
+
+    private LocalImageCache cache;
+
+    @PostConstruct
+    void initCache() throws IOException {
+        cache = new LocalImageCache(Paths.get(cacheDir), cacheMaxSize.toBytes());
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        try {
+            s3Client.headObject(request -> request.bucket(bucket).key(key));
+            return true;
+        } catch (S3Exception e) {
+            if (e.statusCode() == NOT_FOUND) {
+                return false;
+            }
+            throw new IOException("Cannot check " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Upload a file, in parts if it is larger than app.storage.s3.part-size.
+     * The file is kept in the local cache afterwards, since variant generation
+     * usually reads a new image straight away.
+     */
+    @Override
+    public void store(String key, Path file) throws IOException {
+        long size = Files.size(file);
+        String contentType = MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        try {
+            if (size <= partSize.toBytes()) {
+                s3Client.putObject(request -> request.bucket(bucket).key(key)
+                        .contentType(contentType).cacheControl(CACHE_CONTROL), RequestBody.fromFile(file));
+            } else {
+                uploadInParts(key, file, size, contentType);
+            }
+        } catch (S3Exception e) {
+            throw new IOException("Cannot store " + key + ": " + e.getMessage(), e);
+        }
+        cache.remove(key);
+        cache.put(key, file);
+    }
+
+    private void uploadInParts(String key, Path file, long size, String contentType) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(request -> request.bucket(bucket).key(key)
+                .contentType(contentType).cacheControl(CACHE_CONTROL)).uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            long position = 0;
+            for (int partNumber = 1; position < size; partNumber++) {
+                long offset = position;
+                long length = Math.min(partSize.toBytes(), size - offset);
+                int number = partNumber;
+                // Each attempt re-opens the file at the part's offset, so a retried part streams again
+                RequestBody body = RequestBody.fromContentProvider(
+                        () -> openRange(file, offset, length), length, contentType);
+                String etag = s3Client.uploadPart(request -> request.bucket(bucket).key(key)
+                        .uploadId(uploadId).partNumber(number).contentLength(length), body).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(etag).build());
+                position += length;
+            }
+            s3Client.completeMultipartUpload(request -> request.bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build()));
+        } catch (RuntimeException e) {
+            s3Client.abortMultipartUpload(request -> request.bucket(bucket).key(key).uploadId(uploadId));
+            throw e;
+        }
+    }
+
+    /**
+     * Open a stream over one byte range of a file.
+     * @param file the file
+     * @param offset the first byte
+     * @param length the number of bytes
+     * @return a stream ending after length bytes
+     */
+    private static InputStream openRange(Path file, long offset, long length) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            channel.position(offset);
+            return new FilterInputStream(Channels.newInputStream(channel)) {
+                private long remaining = length;
+
+                @Override
+                public int read() throws IOException {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    int b = super.read();
+                    if (b >= 0) {
+                        remaining--;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int off, int len) throws IOException {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    int n = super.read(buffer, off, (int) Math.min(len, remaining));
+                    if (n > 0) {
+                        remaining -= n;
+                    }
+                    return n;
+                }
+
+                @Override
+                public long skip(long n) throws IOException {
+                    long skipped = super.skip(Math.min(n, remaining));
+                    remaining -= skipped;
+                    return skipped;
+                }
+
+                @Override
+                public int available() throws IOException {
+                    return (int) Math.min(super.available(), remaining);
+                }
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Path fetch(String key) throws IOException {
+        Path cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Path download = cache.createTempFile();
+        try {
+            Files.delete(download);
+            s3Client.getObject(request -> request.bucket(bucket).key(key), ResponseTransformer.toFile(download));
+            return cache.put(key, download);
+        } catch (S3Exception e) {
+            if (e.statusCode() == NOT_FOUND) {
+                return null;
+            }
+            throw new IOException("Cannot fetch " + key + ": " + e.getMessage(), e);
+        } finally {
+            Files.deleteIfExists(download);
+        }
+    }
+
+    /**
+     * Objects in the bucket are not garbage collected by the app, so there is nothing to do.
+     */
+    @Override
+    public void touch(String key) {
+    }
+
+    @Override
+    public void move(String sourceKey, String targetKey) throws IOException {
+        try {
+            s3Client.copyObject(request -> request.sourceBucket(bucket).sourceKey(sourceKey)
+                    .destinationBucket(bucket).destinationKey(targetKey));
+        } catch (S3Exception e) {
+            if (e.statusCode() == NOT_FOUND) {
+                return;
+            }
+            throw new IOException("Cannot move " + sourceKey + ": " + e.getMessage(), e);
+        }
+        delete(sourceKey);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        cache.remove(key);
+        try {
+            s3Client.deleteObject(request -> request.bucket(bucket).key(key));
+        } catch (S3Exception e) {
+            throw new IOException("Cannot delete " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create a short-lived URL a browser can read an object from directly.
+     * @param key the image path
+     * @return the presigned URL
+     */
+    public URI presignedUrl(String key) {
+        return URI.create(s3Presigner.presignGetObject(request -> request
+                .signatureDuration(presignExpiry)
+                .getObjectRequest(get -> get.bucket(bucket).key(key))).url().toString());
+    }
+
+    /**
+     * Get how long presigned URLs stay valid.
+     * @return the presign expiry
+     */
+    public Duration getPresignExpiry() {
+        return presignExpiry;
+    }
+}
@@ -0,0 +1,51 @@
+package com.itemrecovery.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+/**
+ * Email gateway that sends through the SMTP server configured with spring.mail.*.
+ * The Message-ID is derived from the idempotency key, so a retried notification
+ * carries the same Message-ID and can be recognised as a duplicate by mail servers and clients.
+ */
+@Service
+@ConditionalOnProperty(name = "app.notifications.email.type", havingValue = "smtp")
+public class SmtpEmailGateway implements EmailGateway {
+    
+    @Autowired
+    private JavaMailSenderImpl mailSender;
+    
+    @Value("${app.notifications.email.from:no-reply@item-recovery.local}")
+    private String from;
+    
+    @Value("${app.notifications.email.message-id-domain:item-recovery.local}")
+    private String messageIdDomain;
+
+    @Override
+    public void send(String to, String subject, String body, String idempotencyKey) {
+        String messageId = "<" + idempotencyKey + "@" + messageIdDomain + ">";
+        MimeMessage message = new MimeMessage(mailSender.getSession()) {
+            @Override
+            protected void updateMessageID() throws MessagingException {
+                setHeader("Message-ID", messageId);
+            }
+        };
+        try {
+            MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+            helper.setFrom(from);
+            helper.setTo(to);
+            helper.setSubject(subject);
+            helper.setText(body);
+        } catch (MessagingException e) {
+            throw new MailPreparationException("Failed to prepare email " + idempotencyKey, e);
+        }
+        mailSender.send(message);
+    }
+}
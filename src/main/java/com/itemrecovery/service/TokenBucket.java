@@ -0,0 +1,70 @@
+package com.itemrecovery.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * Instead of a token count and a refill timestamp, the bucket keeps a single value:
+ * the System.nanoTime() at which it will be full again. Taking a token pushes that
+ * instant one refill interval further; a request is refused when this would put it
+ * more than a full bucket's worth of refill time in the future. The one value is
+ * updated with compare-and-set, so concurrent requests never block each other.
+ */
+final class TokenBucket {
+
+    private final long nanosPerToken;
+
+    private final long capacityNanos;
+
+    private final AtomicLong fullAt;
+
+    /**
+     * @param capacity maximum number of tokens (the allowed burst)
+     * @param refillPeriod time to refill an empty bucket completely
+     * @param now the current System.nanoTime(); the bucket starts full
+     */
+    TokenBucket(int capacity, Duration refillPeriod, long now) {
+        this.nanosPerToken = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.capacityNanos = nanosPerToken * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Take one token.
+     * @param now the current System.nanoTime()
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    long tryConsume(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - now > 0 ? current : now) + nanosPerToken;
+            long debt = next - now;
+            if (debt > capacityNanos) {
+                return debt - capacityNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Return a token taken by {@link #tryConsume} for a request that was refused elsewhere.
+     * Moves the full instant back by the interval the token pushed it forward; if the
+     * bucket has refilled meanwhile, that instant is already past and the bucket stays full.
+     */
+    void refund() {
+        fullAt.addAndGet(-nanosPerToken);
+    }
+
+    /**
+     * Check whether the bucket has refilled completely, i.e. behaves like a new one
+     * and can be dropped.
+     * @param now the current System.nanoTime()
+     * @return true if the bucket is full
+     */
+    boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
@@ -12,3 +12,7 @@ ON CONFLICT DO NOTHING;
 
 -- Note: Actual items would be inserted through the application
 -- This file is mainly for reference
+
+-- found_items ids come from found_items_seq (allocation size 50) so imports can be batched.
+-- On a database that used IDENTITY ids, FoundItemSequenceInitializer moves the sequence
+-- past the existing rows at startup.
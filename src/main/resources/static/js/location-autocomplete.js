@@ -0,0 +1,45 @@
+/*
+ * Location autocomplete for inputs with a data-suggest-url attribute.
+ * Suggestions are shown through the input's datalist, so any known spelling can be
+ * picked while free text is still accepted. A new query aborts the one in flight,
+ * so a slow response can never replace the suggestions for newer input.
+ */
+(function () {
+    document.querySelectorAll('input[data-suggest-url]').forEach(function (input) {
+        var list = document.getElementById(input.getAttribute('list'));
+        var timer = null;
+        var lastQuery = null;
+        var pending = null;
+
+        input.addEventListener('input', function () {
+            clearTimeout(timer);
+            timer = setTimeout(function () {
+                var query = input.value.trim();
+                if (query.length === 0 || query === lastQuery) {
+                    return;
+                }
+                lastQuery = query;
+                if (pending) {
+                    pending.abort();
+                }
+                var controller = new AbortController();
+                pending = controller;
+                fetch(input.dataset.suggestUrl + '?q=' + encodeURIComponent(query),
+                      {credentials: 'same-origin', signal: controller.signal})
+                    .then(function (response) { return response.ok ? response.json() : []; })
+                    .then(function (suggestions) {
+                        if (controller.signal.aborted) {
+                            return;
+                        }
+                        list.replaceChildren();
+                        suggestions.forEach(function (suggestion) {
+                            var option = document.createElement('option');
+                            option.value = suggestion.name;
+                            list.appendChild(option);
+                        });
+                    })
+                    .catch(function () { /* autocomplete is optional */ });
+            }, 150);
+        });
+    });
+})();
@@ -0,0 +1,72 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.model.Location;
+import com.itemrecovery.model.LocationLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for {@link Gazetteer}.
+ */
+class GazetteerTest {
+
+    private final List<Location> locations = new ArrayList<>();
+
+    private Location library;
+    private Location libraryFloor;
+    private Location scienceFloor;
+    private Location room;
+
+    private Gazetteer gazetteer;
+
+    @BeforeEach
+    void setUp() {
+        Location campus = location("Main Campus", LocationLevel.CAMPUS, null);
+        library = location("Library", LocationLevel.BUILDING, campus);
+        library.setAliases(Set.of("lib"));
+        Location science = location("Science Building", LocationLevel.BUILDING, campus);
+        libraryFloor = location("2nd Floor", LocationLevel.FLOOR, library);
+        scienceFloor = location("2nd Floor", LocationLevel.FLOOR, science);
+        room = location("Room 204", LocationLevel.ROOM, scienceFloor);
+        gazetteer = new Gazetteer(locations);
+    }
+
+    @Test
+    void sharedNameResolvesOnlyWithItsBuilding() {
+        assertNull(gazetteer.resolve("2nd floor"), "two buildings have a 2nd floor");
+        assertEquals(libraryFloor.getId(), gazetteer.resolve("Library, 2nd floor"));
+        assertEquals(scienceFloor.getId(), gazetteer.resolve("2nd floor of the science building"));
+        assertEquals(libraryFloor.getId(), gazetteer.resolve("lib 2nd floor"), "aliases name the building too");
+    }
+
+    @Test
+    void uniqueNameResolvesOnItsOwn() {
+        assertEquals(library.getId(), gazetteer.resolve("near the library"));
+        assertEquals(room.getId(), gazetteer.resolve("room 204"));
+        assertEquals(room.getId(), gazetteer.resolve("Science Building 2nd floor, room 204"));
+        assertNull(gazetteer.resolve("cafeteria"));
+    }
+
+    @Test
+    void buildingAndDistanceFollowTheHierarchy() {
+        assertEquals(library.getId(), gazetteer.buildingOf(libraryFloor.getId()));
+        assertEquals(library.getId(), gazetteer.buildingOf(library.getId()));
+        assertNull(gazetteer.buildingOf(locations.get(0).getId()), "a campus is in no building");
+        assertEquals(1, gazetteer.distance(library.getId(), libraryFloor.getId()));
+        assertEquals(4, gazetteer.distance(room.getId(), library.getId()));
+    }
+
+    private Location location(String name, LocationLevel level, Location parent) {
+        Location location = new Location(name, level, parent);
+        location.setId((long) locations.size() + 1);
+        locations.add(location);
+        return location;
+    }
+}
@@ -0,0 +1,88 @@
+package com.itemrecovery.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ImageNormalizationService} on uploads the decoder rejects.
+ */
+class ImageNormalizationServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ImageNormalizationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImageNormalizationService();
+        ReflectionTestUtils.setField(service, "maxDimension", 2048);
+        ReflectionTestUtils.setField(service, "quality", 0.85f);
+        ReflectionTestUtils.setField(service, "maxConcurrency", 1);
+        ReflectionTestUtils.setField(service, "acquireTimeout", Duration.ZERO);
+        service.initPermits();
+    }
+
+    @Test
+    void undecodableJpegIsStoredWithoutMetadata() throws IOException {
+        Path upload = Files.write(tempDir.resolve("upload.jpg"), undecodableJpegWithExif());
+        assertThrows(IOException.class, () -> ImageIO.read(upload.toFile()));
+
+        Path stored = service.normalize(upload);
+
+        assertNotNull(stored);
+        String text = new String(Files.readAllBytes(stored), StandardCharsets.ISO_8859_1);
+        assertFalse(text.contains("GPS"));
+        assertTrue(text.contains("JFIF"));
+    }
+
+    @Test
+    void undecodableOtherFormatIsRejected() throws IOException {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 'b', 'r', 'o', 'k', 'e', 'n'};
+        Path upload = Files.write(tempDir.resolve("upload.png"), png);
+
+        assertThrows(IOException.class, () -> service.normalize(upload));
+        try (var files = Files.list(tempDir)) {
+            assertTrue(files.allMatch(upload::equals), "no partial copy should be left behind");
+        }
+    }
+
+    /**
+     * A JPEG with an EXIF segment whose frame refers to an undefined quantization table.
+     */
+    private static byte[] undecodableJpegWithExif() throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB), "jpeg", encoded);
+        byte[] jpeg = encoded.toByteArray();
+        for (int i = 2; i < jpeg.length - 1; i++) {
+            if ((jpeg[i] & 0xFF) == 0xFF && (jpeg[i + 1] & 0xFF) == 0xC0) {
+                // Marker, length, precision, height, width and component count, then the
+                // first component's ID and sampling factors come before its table number
+                jpeg[i + 12] = 3;
+                break;
+            }
+        }
+        byte[] exif = {(byte) 0xFF, (byte) 0xE1, 0, 11, 'E', 'x', 'i', 'f', 0, 0, 'G', 'P', 'S'};
+        ByteArrayOutputStream tagged = new ByteArrayOutputStream();
+        tagged.write(jpeg, 0, 2);
+        tagged.write(exif);
+        tagged.write(jpeg, 2, jpeg.length - 2);
+        return tagged.toByteArray();
+    }
+}
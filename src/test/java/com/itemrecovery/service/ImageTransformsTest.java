@@ -0,0 +1,103 @@
+package com.itemrecovery.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ImageTransforms#stripMetadata}.
+ */
+class ImageTransformsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void metadataSegmentsAreRemovedAndImageDataKept() throws IOException {
+        byte[] plain = encodeJpeg();
+        byte[] tagged = insertAfterSoi(plain,
+                segment(0xE1, "Exif\0\0GPS 51.5N 0.12W"),
+                segment(0xED, "Photoshop 3.0\0caption"),
+                segment(0xFE, "taken at home"),
+                segment(0xEE, "Adobe\0\144\0\0\0\0\1"));
+        Path source = Files.write(tempDir.resolve("tagged.jpg"), concat(tagged, "trailing".getBytes(StandardCharsets.US_ASCII)));
+        Path target = tempDir.resolve("stripped.jpg");
+
+        assertTrue(ImageTransforms.stripMetadata(source, target));
+
+        byte[] stripped = Files.readAllBytes(target);
+        String text = new String(stripped, StandardCharsets.ISO_8859_1);
+        assertFalse(text.contains("GPS"));
+        assertFalse(text.contains("Photoshop"));
+        assertFalse(text.contains("taken at home"));
+        assertFalse(text.contains("trailing"));
+        assertTrue(text.contains("Adobe"), "Adobe color transform marker should be kept");
+        assertArrayEquals(insertAfterSoi(plain, segment(0xEE, "Adobe\0\144\0\0\0\0\1")), stripped);
+    }
+
+    @Test
+    void truncatedScanIsClosedOff() throws IOException {
+        byte[] plain = encodeJpeg();
+        byte[] truncated = Arrays.copyOf(plain, plain.length - 40);
+        Path source = Files.write(tempDir.resolve("truncated.jpg"), insertAfterSoi(truncated, segment(0xE1, "Exif\0\0GPS")));
+        Path target = tempDir.resolve("stripped.jpg");
+
+        assertTrue(ImageTransforms.stripMetadata(source, target));
+
+        byte[] stripped = Files.readAllBytes(target);
+        assertArrayEquals(concat(truncated, new byte[] {(byte) 0xFF, (byte) 0xD9}), stripped);
+        assertNotNull(ImageIO.read(target.toFile()));
+    }
+
+    @Test
+    void otherFormatsAreNotCopied() throws IOException {
+        Path source = Files.write(tempDir.resolve("broken.png"), "\u0089PNG\r\n\u001a\nbroken".getBytes(StandardCharsets.ISO_8859_1));
+
+        assertFalse(ImageTransforms.stripMetadata(source, tempDir.resolve("stripped.jpg")));
+    }
+
+    private static byte[] encodeJpeg() throws IOException {
+        BufferedImage image = new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, (x * 4) << 16 | (y * 5) << 8 | (x + y));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+
+    private static byte[] segment(int marker, String payload) {
+        byte[] bytes = payload.getBytes(StandardCharsets.ISO_8859_1);
+        int length = bytes.length + 2;
+        return concat(new byte[] {(byte) 0xFF, (byte) marker, (byte) (length >> 8), (byte) length}, bytes);
+    }
+
+    private static byte[] insertAfterSoi(byte[] jpeg, byte[]... segments) {
+        byte[] result = Arrays.copyOf(jpeg, 2);
+        for (byte[] segment : segments) {
+            result = concat(result, segment);
+        }
+        return concat(result, Arrays.copyOfRange(jpeg, 2, jpeg.length));
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
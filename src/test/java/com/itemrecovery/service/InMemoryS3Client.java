@@ -0,0 +1,216 @@
+package com.itemrecovery.service;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stand-in for an S3 bucket service, covering the operations S3ImageStorage uses.
+ * The SDK's builder-style overloads are default methods delegating to the request-object
+ * methods implemented here. Missing keys fail with 404, as on S3 and MinIO.
+ */
+class InMemoryS3Client implements S3Client {
+
+    private static final int NOT_FOUND = 404;
+
+    // Objects by bucket and key
+    final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+
+    // Parts of multipart uploads in progress, by upload ID and part number
+    final Map<String, TreeMap<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+
+    // Sizes of all parts received, in order
+    final List<Integer> partSizes = new ArrayList<>();
+
+    final AtomicInteger putCount = new AtomicInteger();
+    final AtomicInteger getCount = new AtomicInteger();
+    final AtomicInteger abortCount = new AtomicInteger();
+
+    private final AtomicInteger nextUploadId = new AtomicInteger();
+
+    // Part number whose upload fails, 0 for none
+    int failOnPart;
+
+    /**
+     * An object's bytes and the headers it was stored with.
+     */
+    record StoredObject(byte[] bytes, String contentType, String cacheControl) {
+    }
+
+    StoredObject object(String bucket, String key) {
+        return objects.get(bucket + "/" + key);
+    }
+
+    @Override
+    public HeadObjectResponse headObject(HeadObjectRequest request) {
+        StoredObject object = require(request.bucket(), request.key());
+        return HeadObjectResponse.builder()
+                .contentLength((long) object.bytes().length)
+                .contentType(object.contentType())
+                .build();
+    }
+
+    @Override
+    public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+        putCount.incrementAndGet();
+        objects.put(request.bucket() + "/" + request.key(),
+                new StoredObject(read(body), request.contentType(), request.cacheControl()));
+        return PutObjectResponse.builder().build();
+    }
+
+    @Override
+    public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+        String uploadId = request.bucket() + "/" + request.key() + "|" + request.contentType() + "|"
+                + request.cacheControl() + "|" + nextUploadId.incrementAndGet();
+        uploads.put(uploadId, new TreeMap<>());
+        return CreateMultipartUploadResponse.builder().uploadId(uploadId).build();
+    }
+
+    @Override
+    public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody body) {
+        TreeMap<Integer, byte[]> parts = uploads.get(request.uploadId());
+        if (parts == null) {
+            throw NoSuchUploadException.builder().statusCode(NOT_FOUND).message("No such upload").build();
+        }
+        if (request.partNumber() == failOnPart) {
+            throw (S3Exception) S3Exception.builder().statusCode(500).message("Part upload failed").build();
+        }
+        byte[] bytes = read(body);
+        if (request.contentLength() != null && request.contentLength() != bytes.length) {
+            throw (S3Exception) S3Exception.builder().statusCode(400).message("Content length mismatch").build();
+        }
+        synchronized (partSizes) {
+            partSizes.add(bytes.length);
+        }
+        parts.put(request.partNumber(), bytes);
+        return UploadPartResponse.builder().eTag(etag(request.partNumber(), bytes)).build();
+    }
+
+    @Override
+    public CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        TreeMap<Integer, byte[]> parts = uploads.remove(request.uploadId());
+        if (parts == null) {
+            throw NoSuchUploadException.builder().statusCode(NOT_FOUND).message("No such upload").build();
+        }
+        ByteArrayOutputStream assembled = new ByteArrayOutputStream();
+        for (CompletedPart part : request.multipartUpload().parts()) {
+            byte[] bytes = parts.get(part.partNumber());
+            if (bytes == null || !etag(part.partNumber(), bytes).equals(part.eTag())) {
+                throw (S3Exception) S3Exception.builder().statusCode(400).message("Invalid part").build();
+            }
+            assembled.writeBytes(bytes);
+        }
+        String[] upload = request.uploadId().split("\\|");
+        objects.put(upload[0], new StoredObject(assembled.toByteArray(), upload[1], upload[2]));
+        return CompleteMultipartUploadResponse.builder().build();
+    }
+
+    @Override
+    public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+        abortCount.incrementAndGet();
+        uploads.remove(request.uploadId());
+        return AbortMultipartUploadResponse.builder().build();
+    }
+
+    @Override
+    public <ReturnT> ReturnT getObject(GetObjectRequest request,
+                                       ResponseTransformer<GetObjectResponse, ReturnT> transformer) {
+        getCount.incrementAndGet();
+        StoredObject object = require(request.bucket(), request.key());
+        GetObjectResponse response = GetObjectResponse.builder()
+                .contentLength((long) object.bytes().length)
+                .contentType(object.contentType())
+                .build();
+        try {
+            return transformer.transform(response,
+                    AbortableInputStream.create(new ByteArrayInputStream(object.bytes())));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+        return getObject(request, ResponseTransformer.toInputStream());
+    }
+
+    @Override
+    public CopyObjectResponse copyObject(CopyObjectRequest request) {
+        StoredObject source = require(request.sourceBucket(), request.sourceKey());
+        objects.put(request.destinationBucket() + "/" + request.destinationKey(), source);
+        return CopyObjectResponse.builder().build();
+    }
+
+    @Override
+    public DeleteObjectResponse deleteObject(DeleteObjectRequest request) {
+        // Deleting a missing key succeeds, as on S3
+        objects.remove(request.bucket() + "/" + request.key());
+        return DeleteObjectResponse.builder().build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private StoredObject require(String bucket, String key) {
+        StoredObject object = object(bucket, key);
+        if (object == null) {
+            throw NoSuchKeyException.builder().statusCode(NOT_FOUND).message("No such key: " + key).build();
+        }
+        return object;
+    }
+
+    private static String etag(int partNumber, byte[] bytes) {
+        return "\"" + partNumber + "-" + Arrays.hashCode(bytes) + "\"";
+    }
+
+    private static byte[] read(RequestBody body) {
+        try (InputStream in = body.contentStreamProvider().newStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.dto.FacetCount;
+import com.itemrecovery.event.ItemLifecycleEvent;
+import com.itemrecovery.model.ItemStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link ItemSearchIndex}.
+ */
+class ItemSearchIndexTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 5);
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex();
+        add("LOST", 1, ItemStatus.LOST, MONDAY, "Library", "Black wallet", "leather wallet with cards");
+        add("LOST", 2, ItemStatus.RECOVERED, MONDAY.plusDays(1), "Library", "Blue umbrella", "folding umbrella");
+        add("FOUND", 1, ItemStatus.FOUND, MONDAY.plusDays(7), "Cafeteria", "Wallet", "brown wallet, no cards");
+        add("FOUND", 2, ItemStatus.FOUND, MONDAY.plusDays(8), "Library", "Water bottle", "steel bottle");
+        add("LOST", 3, ItemStatus.LOST, MONDAY.plusDays(8), "Gym", "Watch", "silver wristwatch");
+    }
+
+    @Test
+    void eachFacetCountsAsIfItsOwnFilterWereNotSet() {
+        ItemSearchIndex.Query query = new ItemSearchIndex.Query();
+        query.statuses = List.of(ItemStatus.LOST);
+        query.location = "library";
+
+        ItemSearchIndex.Hits hits = index.search(query, 10, 10);
+
+        assertEquals(List.of(ItemSearchIndex.documentId("LOST", 1)), documents(hits));
+        // Status facets ignore the status filter: all items at the library
+        assertEquals(1, count(hits.statusFacets, "LOST"));
+        assertEquals(1, count(hits.statusFacets, "RECOVERED"));
+        assertEquals(1, count(hits.statusFacets, "FOUND"));
+        // Location facets ignore the location filter: all LOST items
+        assertEquals(Map.of("library", 1L, "gym", 1L), counts(hits.locationFacets));
+        // Week facets keep both filters
+        assertEquals(Map.of(MONDAY.toString(), 1L), counts(hits.weekFacets));
+    }
+
+    @Test
+    void lastWordMatchesAsAPrefixAndEarlierWordsExactly() {
+        ItemSearchIndex.Query query = new ItemSearchIndex.Query();
+
+        query.words = ItemSearchIndex.words("wal");
+        assertEquals(2, index.search(query, 10, 10).documents.getCardinality());
+
+        query.words = ItemSearchIndex.words("wallet ca");
+        assertEquals(2, index.search(query, 10, 10).documents.getCardinality(), "ca should match cards");
+
+        query.words = ItemSearchIndex.words("wal cards");
+        assertEquals(0, index.search(query, 10, 10).documents.getCardinality(), "wal is not the last word");
+
+        query.words = ItemSearchIndex.words("wat");
+        assertEquals(2, index.search(query, 10, 10).documents.getCardinality(), "water and watch");
+    }
+
+    @Test
+    void pagesRankByDateNewestFirst() {
+        ItemSearchIndex.Hits hits = index.search(new ItemSearchIndex.Query(), 10, 10);
+
+        // Same day: the higher document ID ranks first
+        List<Integer> expected = List.of(
+                ItemSearchIndex.documentId("LOST", 3),
+                ItemSearchIndex.documentId("FOUND", 2),
+                ItemSearchIndex.documentId("FOUND", 1),
+                ItemSearchIndex.documentId("LOST", 2),
+                ItemSearchIndex.documentId("LOST", 1));
+        assertEquals(expected, index.page(hits.documents, 0, 10));
+        assertEquals(expected.subList(0, 2), index.page(hits.documents, 0, 2));
+        assertEquals(expected.subList(1, 4), index.page(hits.documents, 1, 3));
+        assertEquals(expected.subList(4, 5), index.page(hits.documents, 4, 3));
+        assertEquals(List.of(), index.page(hits.documents, 5, 3));
+    }
+
+    @Test
+    void deletedItemsAreNotFoundOrCounted() {
+        index.apply(new ItemLifecycleEvent(ItemLifecycleEvent.Kind.DELETED, "FOUND", 1L, null,
+                ItemStatus.FOUND, MONDAY.plusDays(7), "Cafeteria", "Wallet", "brown wallet, no cards"));
+        ItemSearchIndex.Query query = new ItemSearchIndex.Query();
+        query.words = ItemSearchIndex.words("wallet");
+
+        ItemSearchIndex.Hits hits = index.search(query, 10, 10);
+
+        assertEquals(List.of(ItemSearchIndex.documentId("LOST", 1)), documents(hits));
+        assertEquals(Map.of("library", 1L), counts(hits.locationFacets));
+    }
+
+    private void add(String type, long id, ItemStatus status, LocalDate date, String location,
+                     String name, String description) {
+        index.apply(new ItemLifecycleEvent(ItemLifecycleEvent.Kind.CREATED, type, id, null,
+                status, date, location, name, description));
+    }
+
+    private static List<Integer> documents(ItemSearchIndex.Hits hits) {
+        List<Integer> documents = new ArrayList<>();
+        hits.documents.forEach((int doc) -> documents.add(doc));
+        return documents;
+    }
+
+    private static long count(List<FacetCount> facets, String value) {
+        return facets.stream().filter(f -> f.getValue().equals(value)).mapToLong(FacetCount::getCount).sum();
+    }
+
+    private static Map<String, Long> counts(List<FacetCount> facets) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (FacetCount facet : facets) {
+            counts.put(facet.getValue(), facet.getCount());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,79 @@
+package com.itemrecovery.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link LocationTrie}.
+ */
+class LocationTrieTest {
+
+    @Test
+    void splitEdgesKeepEveryLocationReachable() {
+        LocationTrie trie = new LocationTrie(5);
+        trie.add("Library", 1);
+        // Each of these splits the edge that the one before it created
+        trie.add("Lib", 1);
+        trie.add("Lab", 1);
+        trie.add("Lecture Hall", 1);
+
+        assertEquals(List.of("Lab", "Lecture Hall", "Lib", "Library"), names(trie.suggest("l", 5)));
+        assertEquals(List.of("Lib", "Library"), names(trie.suggest("lib", 5)));
+        assertEquals(List.of("Library"), names(trie.suggest("libr", 5)));
+        assertEquals(List.of("Lab"), names(trie.suggest("la", 5)));
+        assertEquals(List.of("Lecture Hall"), names(trie.suggest("hall", 5)));
+        assertEquals(List.of(), names(trie.suggest("lx", 5)));
+        assertEquals(List.of(), names(trie.suggest("library x", 5)));
+    }
+
+    @Test
+    void everyWordStartsAMatch() {
+        LocationTrie trie = new LocationTrie(5);
+        trie.add("Library", 2);
+        trie.add("Main  Library", 1);
+
+        assertEquals(List.of("Library", "Main Library"), names(trie.suggest("lib", 5)));
+        assertEquals(List.of("Main Library"), names(trie.suggest("main l", 5)));
+    }
+
+    @Test
+    void topListsFollowGrowingWeights() {
+        LocationTrie trie = new LocationTrie(2);
+        trie.add("Room 101", 3);
+        trie.add("Room 102", 2);
+        trie.add("Room 103", 1);
+
+        assertEquals(List.of(Map.entry("Room 101", 3L), Map.entry("Room 102", 2L)), trie.suggest("room", 2));
+        assertEquals(List.of("Room 101"), names(trie.suggest("room", 1)));
+
+        // Room 103 was left out of the shared nodes' lists and now overtakes both
+        trie.add("Room 103", 4);
+
+        assertEquals(List.of(Map.entry("Room 103", 5L), Map.entry("Room 101", 3L)), trie.suggest("room", 2));
+        assertEquals(List.of("Room 103", "Room 101"), names(trie.suggest("room 10", 2)));
+        assertEquals(List.of("Room 103", "Room 101"), names(trie.suggest("10", 2)));
+
+        // Equal weights rank alphabetically
+        trie.add("Room 102", 3);
+        assertEquals(List.of(Map.entry("Room 102", 5L), Map.entry("Room 103", 5L)), trie.suggest("room", 2));
+    }
+
+    @Test
+    void spellingsOfOneLocationAreMergedUnderTheMostFrequent() {
+        LocationTrie trie = new LocationTrie(5);
+        trie.add("library", 1);
+        trie.add(" Library ", 2);
+        trie.add("LIBRARY", 1);
+
+        assertEquals(1, trie.size());
+        assertEquals(List.of(Map.entry("Library", 4L)), trie.suggest("LIB", 5));
+    }
+
+    private static List<String> names(List<Map.Entry<String, Long>> suggestions) {
+        return suggestions.stream().map(Map.Entry::getKey).toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.itemrecovery.service;
+
+import com.itemrecovery.exception.ItemConflictException;
+import com.itemrecovery.model.FoundItem;
+import com.itemrecovery.model.ItemStatus;
+import com.itemrecovery.model.LostItem;
+import com.itemrecovery.model.User;
+import com.itemrecovery.repository.FoundItemRepository;
+import com.itemrecovery.repository.LostItemRepository;
+import com.itemrecovery.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrency tests for {@link MatchService#markAsMatched(Long, Long)}.
+ * Runs against PostgreSQL, whose row locks and re-checked conditional updates are what
+ * make the status claim safe; skipped where Docker is not available.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class MatchServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LostItemRepository lostItemRepository;
+
+    @Autowired
+    private FoundItemRepository foundItemRepository;
+
+    @Test
+    void concurrentMatchesOfOneFoundItemLetExactlyOneSucceed() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(new User("matcher-" + suffix, "matcher-" + suffix + "@example.com", "secret"));
+
+        FoundItem foundItem = new FoundItem("Umbrella", "Black folding umbrella", LocalDate.now(), "Library", "desk");
+        foundItem.setUser(user);
+        Long foundItemId = foundItemRepository.save(foundItem).getId();
+
+        List<Long> lostItemIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LostItem lostItem = new LostItem("Umbrella " + i, "Black folding umbrella", LocalDate.now(), "Library", "phone");
+            lostItem.setUser(user);
+            lostItemIds.add(lostItemRepository.save(lostItem).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> outcomes = new ArrayList<>();
+        try {
+            for (Long lostItemId : lostItemIds) {
+                outcomes.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    try {
+                        matchService.markAsMatched(lostItemId, foundItemId);
+                        return true;
+                    } catch (ItemConflictException e) {
+                        return false;
+                    }
+                }));
+            }
+            assertTrue(ready.await(30, TimeUnit.SECONDS), "threads did not start");
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> outcome : outcomes) {
+                // Any exception other than ItemConflictException fails the test here
+                if (outcome.get(60, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+            assertEquals(1, succeeded, "exactly one match should succeed");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(ItemStatus.MATCHED, foundItemRepository.findById(foundItemId).orElseThrow().getStatus());
+        long matchedLostItems = lostItemRepository.findAllById(lostItemIds).stream()
+                .filter(item -> item.getStatus() == ItemStatus.MATCHED)
+                .count();
+        // The losers' lost item claims were rolled back with their transactions
+        assertEquals(1, matchedLostItems, "only the winning lost item should be matched");
+    }
+}
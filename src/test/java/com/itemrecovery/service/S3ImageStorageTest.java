@@ -0,0 +1,210 @@
+package com.itemrecovery.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link S3ImageStorage} against an in-memory S3 stand-in.
+ */
+class S3ImageStorageTest {
+
+    private static final String BUCKET = "images";
+
+    @TempDir
+    Path tempDir;
+
+    private InMemoryS3Client s3;
+
+    private S3Presigner presigner;
+
+    private S3ImageStorage storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        s3 = new InMemoryS3Client();
+        presigner = S3Presigner.builder()
+                .region(Region.US_EAST_1)
+                .endpointOverride(URI.create("http://localhost:9000"))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("access", "secret")))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+        storage = newStorage(DataSize.ofBytes(1024), DataSize.ofKilobytes(64));
+    }
+
+    @AfterEach
+    void tearDown() {
+        presigner.close();
+    }
+
+    @Test
+    void smallFileIsStoredWithOnePut() throws IOException {
+        byte[] bytes = randomBytes(1000);
+
+        storage.store("uploads/images/ab/cd/small.jpg", write("small.jpg", bytes));
+
+        assertEquals(1, s3.putCount.get());
+        assertTrue(s3.partSizes.isEmpty());
+        InMemoryS3Client.StoredObject object = s3.object(BUCKET, "uploads/images/ab/cd/small.jpg");
+        assertArrayEquals(bytes, object.bytes());
+        assertEquals("image/jpeg", object.contentType());
+        assertEquals("public, max-age=31536000, immutable", object.cacheControl());
+        assertTrue(storage.exists("uploads/images/ab/cd/small.jpg"));
+        assertFalse(storage.exists("uploads/images/ab/cd/missing.jpg"));
+    }
+
+    @Test
+    void largeFileIsUploadedInParts() throws IOException {
+        byte[] bytes = randomBytes(2500);
+
+        storage.store("uploads/images/large.png", write("large.png", bytes));
+
+        assertEquals(0, s3.putCount.get());
+        assertEquals(List.of(1024, 1024, 452), s3.partSizes);
+        assertTrue(s3.uploads.isEmpty(), "upload should be completed");
+        InMemoryS3Client.StoredObject object = s3.object(BUCKET, "uploads/images/large.png");
+        assertArrayEquals(bytes, object.bytes());
+        assertEquals("image/png", object.contentType());
+        assertEquals("public, max-age=31536000, immutable", object.cacheControl());
+    }
+
+    @Test
+    void failedPartAbortsTheMultipartUpload() throws IOException {
+        s3.failOnPart = 2;
+
+        assertThrows(IOException.class, () -> storage.store("uploads/images/broken.jpg", write("broken.jpg", randomBytes(2500))));
+
+        assertEquals(1, s3.abortCount.get());
+        assertTrue(s3.uploads.isEmpty(), "upload should be aborted");
+        assertNull(s3.object(BUCKET, "uploads/images/broken.jpg"));
+    }
+
+    @Test
+    void presignedUrlPointsAtTheObjectAndExpires() {
+        URI url = storage.presignedUrl("uploads/images/ab/cd/photo.jpg");
+
+        assertEquals("localhost", url.getHost());
+        assertEquals("/" + BUCKET + "/uploads/images/ab/cd/photo.jpg", url.getPath());
+        assertTrue(url.getQuery().contains("X-Amz-Expires=900"), url.toString());
+        assertTrue(url.getQuery().contains("X-Amz-Signature="), url.toString());
+        assertEquals(Duration.ofMinutes(15), storage.getPresignExpiry());
+    }
+
+    @Test
+    void moveCopiesThenDeletesTheSource() throws IOException {
+        byte[] bytes = randomBytes(100);
+        storage.store("uploads/flat.jpg", write("flat.jpg", bytes));
+
+        storage.move("uploads/flat.jpg", "uploads/images/fl/at/flat.jpg");
+
+        assertNull(s3.object(BUCKET, "uploads/flat.jpg"));
+        assertArrayEquals(bytes, s3.object(BUCKET, "uploads/images/fl/at/flat.jpg").bytes());
+        assertFalse(storage.exists("uploads/flat.jpg"));
+    }
+
+    @Test
+    void moveOfAMissingObjectIsANoOp() throws IOException {
+        storage.move("uploads/gone.jpg", "uploads/images/go/ne/gone.jpg");
+
+        assertTrue(s3.objects.isEmpty());
+    }
+
+    @Test
+    void fetchDownloadsOnceAndServesRepeatsFromTheCache() throws IOException {
+        byte[] bytes = randomBytes(100);
+        putRemote("uploads/a.jpg", bytes);
+
+        Path first = storage.fetch("uploads/a.jpg");
+        Path second = storage.fetch("uploads/a.jpg");
+
+        assertEquals(1, s3.getCount.get());
+        assertEquals(first, second);
+        assertArrayEquals(bytes, Files.readAllBytes(first));
+        assertNull(storage.fetch("uploads/missing.jpg"));
+    }
+
+    @Test
+    void cacheEvictsTheLeastRecentlyUsedObject() throws IOException {
+        storage = newStorage(DataSize.ofBytes(1024), DataSize.ofBytes(250));
+        putRemote("uploads/a.jpg", randomBytes(100));
+        putRemote("uploads/b.jpg", randomBytes(100));
+        putRemote("uploads/c.jpg", randomBytes(100));
+
+        Path a = storage.fetch("uploads/a.jpg");
+        Path b = storage.fetch("uploads/b.jpg");
+        // a becomes the most recently used, so c pushes b out
+        storage.fetch("uploads/a.jpg");
+        storage.fetch("uploads/c.jpg");
+        assertEquals(3, s3.getCount.get());
+        assertTrue(Files.exists(a));
+        assertFalse(Files.exists(b), "least recently used object should be evicted");
+
+        assertNotNull(storage.fetch("uploads/a.jpg"));
+        assertEquals(3, s3.getCount.get(), "a should still be cached");
+        assertNotNull(storage.fetch("uploads/b.jpg"));
+        assertEquals(4, s3.getCount.get(), "b should be downloaded again");
+    }
+
+    @Test
+    void deleteRemovesTheObjectAndItsCachedCopy() throws IOException {
+        putRemote("uploads/a.jpg", randomBytes(100));
+        Path cached = storage.fetch("uploads/a.jpg");
+
+        storage.delete("uploads/a.jpg");
+
+        assertNull(s3.object(BUCKET, "uploads/a.jpg"));
+        assertFalse(Files.exists(cached));
+        assertNull(storage.fetch("uploads/a.jpg"));
+    }
+
+    private S3ImageStorage newStorage(DataSize partSize, DataSize cacheMaxSize) throws IOException {
+        S3ImageStorage s3Storage = new S3ImageStorage();
+        ReflectionTestUtils.setField(s3Storage, "s3Client", s3);
+        ReflectionTestUtils.setField(s3Storage, "s3Presigner", presigner);
+        ReflectionTestUtils.setField(s3Storage, "bucket", BUCKET);
+        ReflectionTestUtils.setField(s3Storage, "partSize", partSize);
+        ReflectionTestUtils.setField(s3Storage, "presignExpiry", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(s3Storage, "cacheDir", tempDir.resolve("cache").toString());
+        ReflectionTestUtils.setField(s3Storage, "cacheMaxSize", cacheMaxSize);
+        s3Storage.initCache();
+        return s3Storage;
+    }
+
+    private void putRemote(String key, byte[] bytes) {
+        s3.objects.put(BUCKET + "/" + key, new InMemoryS3Client.StoredObject(bytes, "image/jpeg", null));
+    }
+
+    private Path write(String name, byte[] bytes) throws IOException {
+        return Files.write(tempDir.resolve(name), bytes);
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,78 @@
+package com.itemrecovery.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link TokenBucket}, driven by an explicit clock.
+ */
+class TokenBucketTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    // 10 tokens, one every 6 seconds
+    private final TokenBucket bucket = new TokenBucket(10, Duration.ofMinutes(1), 0);
+
+    @Test
+    void fullBucketAllowsABurstOfItsCapacity() {
+        assertEquals(10, drain(0));
+        assertEquals(6 * SECOND, bucket.tryConsume(0), "the wait should be one refill interval");
+        assertFalse(bucket.isFull(0));
+    }
+
+    @Test
+    void tokensRefillOnePerInterval() {
+        drain(0);
+
+        assertEquals(SECOND, bucket.tryConsume(5 * SECOND));
+        assertEquals(0, bucket.tryConsume(6 * SECOND));
+        assertEquals(6 * SECOND, bucket.tryConsume(6 * SECOND));
+        assertEquals(2, drain(18 * SECOND));
+    }
+
+    @Test
+    void bucketRefillsCompletelyButNoFurther() {
+        drain(0);
+
+        assertFalse(bucket.isFull(59 * SECOND));
+        assertTrue(bucket.isFull(60 * SECOND));
+        assertEquals(10, drain(10 * 60 * SECOND), "unused time should not add tokens beyond the capacity");
+    }
+
+    @Test
+    void refundReturnsTheTokenTaken() {
+        drain(0);
+
+        bucket.refund();
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(6 * SECOND, bucket.tryConsume(0));
+    }
+
+    @Test
+    void refundOfAFullBucketDoesNotExceedTheCapacity() {
+        assertEquals(0, bucket.tryConsume(0));
+        bucket.refund();
+        bucket.refund();
+
+        assertTrue(bucket.isFull(0));
+        assertEquals(10, drain(0));
+    }
+
+    /**
+     * Take tokens until the bucket refuses.
+     * @return the number of tokens taken
+     */
+    private int drain(long now) {
+        int taken = 0;
+        while (bucket.tryConsume(now) == 0) {
+            taken++;
+        }
+        return taken;
+    }
+}